@@ -0,0 +1,131 @@
+package com.amhsrobotics.pathgeneration;
+
+import com.badlogic.gdx.utils.IntMap;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Entities by ID, for the managers of things on the field.
+ * <p>
+ * Lookups, additions and removals by ID do not depend on the number of entities. Iteration goes in the order the
+ * entities were added, so they are drawn in the same order every frame, and the entity being iterated may be removed
+ * from inside the loop.
+ */
+public class EntityRegistry<T> implements Iterable<T> {
+
+    private final IntMap<Node<T>> nodes = new IntMap<>();
+    private Node<T> head;
+    private Node<T> tail;
+
+    /**
+     * Adds the entity after all the others.
+     *
+     * @throws IllegalArgumentException if there already is an entity with the ID.
+     */
+    public void add(int ID, T entity) {
+        if(nodes.containsKey(ID)) {
+            throw new IllegalArgumentException("There already is an entity with ID " + ID);
+        }
+
+        Node<T> node = new Node<>(entity);
+        node.previous = tail;
+        if(tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+        nodes.put(ID, node);
+    }
+
+    /**
+     * Returns the entity with the ID, or null if there is none.
+     */
+    public T get(int ID) {
+        Node<T> node = nodes.get(ID);
+        return node == null ? null : node.entity;
+    }
+
+    public boolean contains(int ID) {
+        return nodes.containsKey(ID);
+    }
+
+    /**
+     * Removes the entity with the ID and returns it, or returns null if there is none.
+     */
+    public T remove(int ID) {
+        Node<T> node = nodes.remove(ID);
+        if(node == null) {
+            return null;
+        }
+
+        if(node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+        if(node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+        node.removed = true;
+        return node.entity;
+    }
+
+    public int size() {
+        return nodes.size;
+    }
+
+    public void clear() {
+        for(Node<T> node = head; node != null; node = node.next) {
+            node.removed = true;
+        }
+        nodes.clear();
+        head = null;
+        tail = null;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> next = head;
+
+            @Override
+            public boolean hasNext() {
+                // skip entities removed after this iterator moved onto them
+                while(next != null && next.removed) {
+                    next = next.next;
+                }
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T entity = next.entity;
+                next = next.next;
+                return entity;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Remove entities by ID");
+            }
+        };
+    }
+
+    private static class Node<T> {
+        private final T entity;
+        private Node<T> previous;
+        private Node<T> next;
+        private boolean removed = false;
+
+        private Node(T entity) {
+            this.entity = entity;
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.amhsrobotics.pathgeneration;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
 import com.amhsrobotics.pathgeneration.cameramechanics.InputCore;
+import com.amhsrobotics.pathgeneration.headsup.LoadingScreen;
+import com.amhsrobotics.pathgeneration.parametrics.GenerationService;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.GeneratedPath;
+import com.amhsrobotics.pathgeneration.parametrics.SplineMesh;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputMultiplexer;
@@ -11,6 +16,7 @@ import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.TextField;
+import com.badlogic.gdx.utils.TimeUtils;
 
 public class Main extends ApplicationAdapter {
 
@@ -18,12 +24,19 @@ public class Main extends ApplicationAdapter {
 	private CameraController hudCam;
 	private Overlay overlay;
 	private SpriteBatch batch;
+	private LoadingScreen loadingScreen;
+
+	private long startTime;
+	private boolean firstFrameShown = false;
+	private boolean editorShown = false;
 
 	public static Stage stage;
 
 	@Override
 	public void create () {
 
+		startTime = TimeUtils.nanoTime();
+
 		stage = new Stage();
 		stage.getRoot().addCaptureListener(new InputListener() {
 			public boolean touchDown (InputEvent event, float x, float y, int pointer, int button) {
@@ -37,13 +50,29 @@ public class Main extends ApplicationAdapter {
 
 		batch = new SpriteBatch();
 
+		// the editor is only built once its assets are loaded, until then a progress bar is drawn
+		loadingScreen = new LoadingScreen();
+		Assets.getInstance().preloadStartupAssets();
+	}
+
+	private void finishLoading() {
+		loadingScreen.dispose();
+		loadingScreen = null;
+
 		worldCam = new CameraController(false);
 		hudCam = new CameraController(true);
 
-		overlay = new Overlay();
+		overlay = new Overlay(worldCam, hudCam);
 
-		Gdx.input.setInputProcessor(new InputMultiplexer(new InputCore(worldCam), stage));
+		Gdx.input.setInputProcessor(new InputMultiplexer(Overlay.input, new InputCore(worldCam), stage));
 
+		// splines finish generating on worker threads, so the frame that shows them has to be asked for
+		GenerationService.getInstance().addPublishListener(new GenerationService.PublishListener() {
+			@Override
+			public void published(GeneratedPath generated) {
+				RenderScheduler.requestRendering();
+			}
+		});
 	}
 
 	@Override
@@ -51,17 +80,48 @@ public class Main extends ApplicationAdapter {
 		Gdx.gl.glClearColor(90 / 255f, 74 / 255f, 70 / 255f, 1);
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
+		if(loadingScreen != null) {
+			if(!Assets.getInstance().update()) {
+				loadingScreen.render(Assets.getInstance().getProgress());
+				if(!firstFrameShown) {
+					firstFrameShown = true;
+					logStartup("First frame");
+				}
+				return;
+			}
+			finishLoading();
+		}
+
 		worldCam.update();
 		hudCam.update();
 
 		overlay.updateAll(batch, worldCam, hudCam);
 
 		stage.act(Gdx.graphics.getDeltaTime());
+
+		if(!editorShown) {
+			editorShown = true;
+			logStartup("First editor frame");
+		}
+
+		RenderScheduler.update(Overlay.panel.isAnimating());
+	}
+
+	private void logStartup(String event) {
+		Gdx.app.log("Startup", event + " after " + TimeUtils.nanosToMillis(TimeUtils.timeSinceNanos(startTime)) + "ms");
 	}
 	
 	@Override
 	public void dispose () {
 		batch.dispose();
 		stage.dispose();
+		if(loadingScreen != null) {
+			loadingScreen.dispose();
+		} else {
+			overlay.dispose();
+		}
+		SplineMesh.disposeShader();
+		Assets.getInstance().dispose();
+		GenerationService.getInstance().shutdown();
 	}
 }
@@ -2,12 +2,15 @@ package com.amhsrobotics.pathgeneration;
 
 import com.amhsrobotics.pathgeneration.field.FindPoint;
 import com.amhsrobotics.pathgeneration.field.MeasureTool;
+import com.amhsrobotics.pathgeneration.field.Waypoint;
 import com.amhsrobotics.pathgeneration.field.WaypointManager;
 import com.amhsrobotics.pathgeneration.headsup.ButtonManager;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputDispatcher;
 import com.amhsrobotics.pathgeneration.field.FieldGraphManager;
 import com.amhsrobotics.pathgeneration.headsup.Panel;
 import com.amhsrobotics.pathgeneration.parametrics.SplineManager;
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.SplineController;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 
 public class Overlay {
@@ -19,11 +22,15 @@ public class Overlay {
     public static FindPoint findPoint;
     public static WaypointManager waypointManager;
     public static MeasureTool measureTool;
+    public static InputDispatcher input;
 
     public static int splineSelected = 0;
     public static int waypointSelected = 0;
 
-    public Overlay() {
+    public Overlay(CameraController worldCam, CameraController hudCam) {
+
+        // created first, every component registers its input targets when it is created
+        input = new InputDispatcher(worldCam, hudCam);
 
         fieldManager = new FieldGraphManager();
         splineManager = new SplineManager();
@@ -45,14 +52,39 @@ public class Overlay {
         panel.render(batch, hudCam);
 
         if(!panel.hidden) {
-            if(splineManager.getSplineByID(splineSelected) != null) {
-                splineManager.getSplineByID(splineSelected).drawProperties(batch, hudCam);
-            } else if(waypointManager.getWaypointByID(waypointSelected) != null) {
-                waypointManager.getWaypointByID(waypointSelected).drawProperties(batch, hudCam);
+            SplineController spline = splineManager.getSplineByID(splineSelected);
+            Waypoint waypoint = waypointManager.getWaypointByID(waypointSelected);
+            if(spline != null) {
+                spline.drawProperties(batch, hudCam);
+            } else if(waypoint != null) {
+                waypoint.drawProperties(batch, hudCam);
             }
         }
 
         buttonManager.updateAll(batch, hudCam);
 
     }
+
+    /**
+     * Returns whether a tool that takes clicks on the field, like the measure tool, is active.
+     */
+    public static boolean isToolActive() {
+        return panel.isClickEnabled;
+    }
+
+    /**
+     * Removes the selected spline or waypoint.
+     */
+    public static void removeSelected() {
+        if(splineSelected != 0) {
+            splineManager.removeSpline(splineSelected);
+        } else if(waypointSelected != 0) {
+            waypointManager.removeWaypoint(waypointSelected);
+        }
+    }
+
+    public void dispose() {
+        fieldManager.dispose();
+        splineManager.dispose();
+    }
 }
@@ -0,0 +1,55 @@
+package com.amhsrobotics.pathgeneration;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/**
+ * Switches between rendering every frame and only rendering when something changed.
+ * <p>
+ * When rendering on demand, frames are produced by input events, which the backend requests on its own, and by
+ * {@link #requestRendering()}. While a mouse button or key is held, or something is animating, rendering falls back
+ * to continuous so drags, panning and held keys stay smooth.
+ */
+public class RenderScheduler {
+
+    private static boolean onDemand = true;
+
+    public static boolean isOnDemand() {
+        return onDemand;
+    }
+
+    public static void setOnDemand(boolean onDemand) {
+        RenderScheduler.onDemand = onDemand;
+        requestRendering();
+    }
+
+    public static void toggle() {
+        setOnDemand(!onDemand);
+        Gdx.app.log("RenderScheduler", onDemand ? "Rendering on demand" : "Rendering continuously");
+    }
+
+    /**
+     * Requests another frame. Safe to call from any thread.
+     */
+    public static void requestRendering() {
+        if(Gdx.graphics != null) {
+            Gdx.graphics.requestRendering();
+        }
+    }
+
+    /**
+     * Picks the rendering mode for the next frame, called at the end of every frame.
+     *
+     * @param animating whether something on screen is still moving on its own
+     */
+    public static void update(boolean animating) {
+        boolean busy = animating
+                || Gdx.input.isButtonPressed(Input.Buttons.LEFT)
+                || Gdx.input.isButtonPressed(Input.Buttons.RIGHT)
+                || Gdx.input.isKeyPressed(Input.Keys.ANY_KEY);
+        boolean continuous = !onDemand || busy;
+        if(Gdx.graphics.isContinuousRendering() != continuous) {
+            Gdx.graphics.setContinuousRendering(continuous);
+        }
+    }
+}
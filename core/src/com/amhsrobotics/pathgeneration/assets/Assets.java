@@ -0,0 +1,184 @@
+package com.amhsrobotics.pathgeneration.assets;
+
+import com.amhsrobotics.pathgeneration.field.FieldTiles;
+import com.amhsrobotics.pathgeneration.field.FieldTilesLoader;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.assets.loaders.SkinLoader;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * The single place textures, fonts and skins are loaded from, so that every {@link com.badlogic.gdx.graphics.g2d.Sprite}
+ * drawing the same file shares one texture on the GPU.
+ * <p>
+ * Every {@link #acquire(String, Class)} has to be matched by a {@link #release(String)} once the asset is no longer
+ * drawn. An asset is loaded by the first acquire and disposed as soon as the last holder releases it. The counts are
+ * kept here rather than left to {@link AssetManager}, which only counts a repeated load once it is processed by an
+ * update.
+ * <p>
+ * Assets needed at startup can be queued with {@link #preload(String, Class)} and loaded in the background by calling
+ * {@link #update()} every frame. A preloaded asset is held by the registry itself until it is first acquired.
+ * <p>
+ * Loaded assets are shared, so state set on them, like the scale and color of a {@link BitmapFont}, has to be set
+ * again before every use.
+ */
+public class Assets {
+    public static final String HANDLE = "buttons/handle.png";
+    public static final String ADD_SEGMENT = "buttons/add-segment.png";
+    public static final String REMOVE_SEGMENT = "buttons/remove-segment.png";
+    public static final String SELECT_SPLINE = "buttons/select-spline.png";
+    public static final String DELETE = "buttons/delete.png";
+    public static final String BOX = "frames/box.png";
+    public static final String BOX_HIGHLIGHTED = "frames/box_highlighted.png";
+    public static final String COLORPICKER = "frames/colorpicker.png";
+    public static final String WAYPOINT = "field/waypoint.png";
+    public static final String DOT = "field/dot.png";
+    public static final String FIELD = "field/fieldrender.png";
+    public static final String FONT = "fonts/ari2.fnt";
+    public static final String SKIN = "skin/Particle Park UI.json";
+    public static final String SKIN_ATLAS = "skin/Particle Park UI.atlas";
+
+    private static Assets instance;
+
+    public static Assets getInstance() {
+        if(instance == null) {
+            instance = new Assets();
+        }
+        return instance;
+    }
+
+    private final AssetManager manager = new AssetManager();
+    private final ObjectIntMap<String> references = new ObjectIntMap<>();
+
+    private Assets() {
+        manager.setLoader(FieldTiles.class, new FieldTilesLoader(new InternalFileHandleResolver()));
+    }
+
+    /**
+     * Returns the asset at <code>path</code>, loading it if nothing holds it yet.
+     *
+     * @param path the internal path of the asset
+     * @param type the type of the asset
+     * @return the loaded asset.
+     */
+    public <T> T acquire(String path, Class<T> type) {
+        if(references.getAndIncrement(path, 0, 1) == 0) {
+            // a preloaded asset is already loaded or queued, and loading it again would count it twice
+            if(!manager.contains(path)) {
+                manager.load(path, type);
+            }
+            manager.finishLoadingAsset(path);
+        }
+        return manager.get(path, type);
+    }
+
+    public Texture acquireTexture(String path) {
+        return acquire(path, Texture.class);
+    }
+
+    public BitmapFont acquireFont(String path) {
+        return acquire(path, BitmapFont.class);
+    }
+
+    /**
+     * Returns the skin at <code>path</code> together with its atlas, loading them if nothing holds the skin yet.
+     *
+     * @param path  the internal path of the skin
+     * @param atlas the internal path of the atlas of the skin
+     * @return the loaded skin.
+     */
+    public Skin acquireSkin(String path, String atlas) {
+        if(references.getAndIncrement(path, 0, 1) == 0) {
+            if(!manager.contains(path)) {
+                manager.load(path, Skin.class, new SkinLoader.SkinParameter(atlas));
+            }
+            manager.finishLoadingAsset(path);
+        }
+        return manager.get(path, Skin.class);
+    }
+
+    /**
+     * Queues the asset at <code>path</code> to be loaded by {@link #update()}, unless it is already loaded or queued.
+     *
+     * @param path the internal path of the asset
+     * @param type the type of the asset.
+     */
+    public void preload(String path, Class<?> type) {
+        if(!manager.contains(path)) {
+            manager.load(path, type);
+        }
+    }
+
+    public void preloadSkin(String path, String atlas) {
+        if(!manager.contains(path)) {
+            manager.load(path, Skin.class, new SkinLoader.SkinParameter(atlas));
+        }
+    }
+
+    /**
+     * Queues everything the editor draws as soon as it opens. Rarely used assets, like the color picker, are left to
+     * be loaded when they are first acquired.
+     */
+    public void preloadStartupAssets() {
+        preload(FONT, BitmapFont.class);
+        preloadSkin(SKIN, SKIN_ATLAS);
+        preload(HANDLE, Texture.class);
+        preload(ADD_SEGMENT, Texture.class);
+        preload(REMOVE_SEGMENT, Texture.class);
+        preload(SELECT_SPLINE, Texture.class);
+        preload(DELETE, Texture.class);
+        preload(BOX, Texture.class);
+        preload(BOX_HIGHLIGHTED, Texture.class);
+        preload(WAYPOINT, Texture.class);
+        preload(DOT, Texture.class);
+        // the field is cut into tiles the first time it is loaded, which takes a while
+        preload(FIELD, FieldTiles.class);
+    }
+
+    /**
+     * Loads queued assets for a short while, returning to the caller so a frame can be drawn in between.
+     *
+     * @return whether every queued asset is loaded.
+     */
+    public boolean update() {
+        return manager.update(16);
+    }
+
+    public float getProgress() {
+        return manager.getProgress();
+    }
+
+    /**
+     * Releases one hold on the asset at <code>path</code>, disposing it when nothing holds it anymore.
+     *
+     * @param path the internal path of the asset.
+     */
+    public void release(String path) {
+        int count = references.get(path, 0);
+        if(count == 0) {
+            throw new IllegalStateException("Released " + path + " more often than it was acquired");
+        }
+        if(count == 1) {
+            references.remove(path, 0);
+            manager.unload(path);
+        } else {
+            references.put(path, count - 1);
+        }
+    }
+
+    public int getReferenceCount(String path) {
+        return references.get(path, 0);
+    }
+
+    /**
+     * Disposes every loaded asset, whether or not it was released.
+     */
+    public void dispose() {
+        manager.dispose();
+        references.clear();
+        instance = null;
+    }
+}
@@ -3,6 +3,7 @@ package com.amhsrobotics.pathgeneration.cameramechanics;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
 
 public class CameraController {
 
@@ -37,6 +38,20 @@ public class CameraController {
 
     }
 
+    /**
+     * Returns whether the rectangle overlaps the area the camera can see, in world coordinates.
+     */
+    public boolean isVisible(float x, float y, float width, float height) {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2;
+        return x < camera.position.x + halfWidth && x + width > camera.position.x - halfWidth
+                && y < camera.position.y + halfHeight && y + height > camera.position.y - halfHeight;
+    }
+
+    public boolean isVisible(Rectangle rect) {
+        return isVisible(rect.x, rect.y, rect.width, rect.height);
+    }
+
     public void togglePan() {
         pan = !pan;
     }
@@ -1,5 +1,8 @@
 package com.amhsrobotics.pathgeneration.cameramechanics;
 
+import com.amhsrobotics.pathgeneration.Main;
+import com.amhsrobotics.pathgeneration.Overlay;
+import com.amhsrobotics.pathgeneration.RenderScheduler;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputProcessor;
@@ -20,6 +23,11 @@ public class InputCore implements InputProcessor {
             cam.getCamera().rotate( 5f);
         } else if(keycode == Input.Keys.LEFT_BRACKET) {
             cam.getCamera().rotate(-5f);
+        } else if(keycode == Input.Keys.F9) {
+            RenderScheduler.toggle();
+        } else if(keycode == Input.Keys.FORWARD_DEL && Main.stage.getKeyboardFocus() == null) {
+            // the delete key also edits the property text fields
+            Overlay.removeSelected();
         }
         return false;
     }
@@ -0,0 +1,301 @@
+package com.amhsrobotics.pathgeneration.cameramechanics;
+
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.Comparator;
+
+/**
+ * Routes mouse events to the topmost {@link InputTarget} under the mouse, instead of every component polling the
+ * mouse on every frame.
+ * <p>
+ * The mouse is unprojected once per event for each layer. Targets are ordered by layer, the {@link Layer#HUD} being
+ * on top of the {@link Layer#WORLD}, then by priority, and then by registration with the newest on top. The topmost
+ * target that is hit is hovered, and a press goes to the first target that is hit and consumes it, which then
+ * receives the drags and the release of that button. Events no target consumes are passed on to the next
+ * {@link InputProcessor}.
+ * <p>
+ * Targets registered with bounds are kept in a {@link SpatialIndex}, so only the ones near the mouse are tested. The
+ * owner of such a target must call {@link #setBounds(InputTarget, Rectangle)} whenever it moves.
+ */
+public class InputDispatcher implements InputProcessor {
+
+    public enum Layer {
+        HUD, WORLD
+    }
+
+    public static final int PRIORITY_PANEL = 20;
+    public static final int PRIORITY_BUTTON = 10;
+
+    public static final int PRIORITY_SEGMENT_BUTTON = 40;
+    public static final int PRIORITY_HANDLE = 30;
+    public static final int PRIORITY_WAYPOINT = 20;
+    public static final int PRIORITY_TOOL = 15;
+    public static final int PRIORITY_SELECTOR = 10;
+    public static final int PRIORITY_SPLINE = 5;
+
+    private static final float CELL_SIZE = 128;
+
+    private static final Comparator<Registration> ORDER = new Comparator<Registration>() {
+        @Override
+        public int compare(Registration a, Registration b) {
+            if(a.layer != b.layer) {
+                return a.layer.ordinal() - b.layer.ordinal();
+            }
+            if(a.priority != b.priority) {
+                return b.priority - a.priority;
+            }
+            return Long.compare(b.sequence, a.sequence);
+        }
+    };
+
+    private final CameraController worldCam;
+    private final CameraController hudCam;
+
+    // targets without bounds, sorted from the top down
+    private final Array<Registration> registrations = new Array<>();
+    private final ObjectMap<InputTarget, Registration> bounded = new ObjectMap<>();
+    private final SpatialIndex<Registration>[] indices;
+    private long sequence = 0;
+
+    private final Array<Registration> found = new Array<>();
+    private final Array<Registration> candidates = new Array<>();
+
+    private final Vector3 world = new Vector3();
+    private final Vector3 hud = new Vector3();
+    private int screenX;
+    private int screenY;
+
+    private InputTarget hovered;
+    private Registration captured;
+    private int capturedButton;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public InputDispatcher(CameraController worldCam, CameraController hudCam) {
+        this.worldCam = worldCam;
+        this.hudCam = hudCam;
+
+        indices = new SpatialIndex[Layer.values().length];
+        for(int x = 0; x < indices.length; x++) {
+            indices[x] = new SpatialIndex<>(CELL_SIZE);
+        }
+    }
+
+    /**
+     * Registers a target that may be hit anywhere, like a tool that takes clicks on the whole field.
+     */
+    public void register(InputTarget target, Layer layer, int priority) {
+        Registration registration = new Registration(target, layer, priority, sequence++);
+        int index = 0;
+        while(index < registrations.size && ORDER.compare(registrations.get(index), registration) < 0) {
+            index++;
+        }
+        registrations.insert(index, registration);
+    }
+
+    /**
+     * Registers a target that can only be hit within <code>bounds</code>.
+     */
+    public void register(InputTarget target, Layer layer, int priority, Rectangle bounds) {
+        Registration registration = new Registration(target, layer, priority, sequence++);
+        bounded.put(target, registration);
+        indices[layer.ordinal()].put(registration, bounds);
+    }
+
+    /**
+     * Moves a target registered with bounds.
+     */
+    public void setBounds(InputTarget target, Rectangle bounds) {
+        Registration registration = bounded.get(target);
+        if(registration != null) {
+            indices[registration.layer.ordinal()].put(registration, bounds);
+        }
+    }
+
+    public void unregister(InputTarget target) {
+        Registration registration = bounded.remove(target);
+        if(registration != null) {
+            indices[registration.layer.ordinal()].remove(registration);
+            registration.registered = false;
+        } else {
+            for(int x = 0; x < registrations.size; x++) {
+                if(registrations.get(x).target == target) {
+                    registrations.removeIndex(x).registered = false;
+                    break;
+                }
+            }
+        }
+        if(hovered == target) {
+            hovered = null;
+        }
+        if(captured != null && captured.target == target) {
+            captured = null;
+        }
+    }
+
+    /**
+     * Returns the mouse position in world coordinates. The camera may have moved since the last event, so it is
+     * unprojected again on every call.
+     */
+    public Vector3 getWorldMouse() {
+        return worldCam.getCamera().unproject(world.set(screenX, screenY, 0));
+    }
+
+    public boolean isCaptured() {
+        return captured != null;
+    }
+
+    @Override
+    public boolean mouseMoved(int screenX, int screenY) {
+        unproject(screenX, screenY);
+        updateHover();
+        return false;
+    }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        unproject(screenX, screenY);
+        updateHover();
+        if(captured != null) {
+            return false;
+        }
+
+        // the candidates are a copy, so targets may register and unregister while handling the press
+        Array<Registration> candidates = collectCandidates();
+        for(int x = 0; x < candidates.size; x++) {
+            Registration registration = candidates.get(x);
+            Vector3 position = getPosition(registration.layer);
+            if(registration.registered && registration.target.hit(position.x, position.y) && registration.target.touchDown(position.x, position.y, button)) {
+                // the target may have unregistered itself while handling the press
+                if(registration.registered) {
+                    captured = registration;
+                    capturedButton = button;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean touchDragged(int screenX, int screenY, int pointer) {
+        unproject(screenX, screenY);
+        if(captured != null) {
+            Vector3 position = getPosition(captured.layer);
+            captured.target.drag(position.x, position.y);
+            return true;
+        }
+        updateHover();
+        return false;
+    }
+
+    @Override
+    public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        unproject(screenX, screenY);
+        if(captured != null && button == capturedButton) {
+            Registration registration = captured;
+            captured = null;
+            Vector3 position = getPosition(registration.layer);
+            registration.target.touchUp(position.x, position.y, button);
+            updateHover();
+            return true;
+        }
+        updateHover();
+        return false;
+    }
+
+    @Override
+    public boolean keyDown(int keycode) {
+        return false;
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        return false;
+    }
+
+    @Override
+    public boolean keyTyped(char character) {
+        return false;
+    }
+
+    @Override
+    public boolean scrolled(int amount) {
+        return false;
+    }
+
+    private void unproject(int screenX, int screenY) {
+        this.screenX = screenX;
+        this.screenY = screenY;
+        worldCam.getCamera().unproject(world.set(screenX, screenY, 0));
+        hudCam.getCamera().unproject(hud.set(screenX, screenY, 0));
+    }
+
+    private Vector3 getPosition(Layer layer) {
+        return layer == Layer.HUD ? hud : world;
+    }
+
+    /**
+     * Merges the targets without bounds with the indexed targets under the mouse, from the top down.
+     */
+    private Array<Registration> collectCandidates() {
+        found.clear();
+        for(Layer layer : Layer.values()) {
+            Vector3 position = getPosition(layer);
+            indices[layer.ordinal()].query(position.x, position.y, found);
+        }
+        found.sort(ORDER);
+
+        candidates.clear();
+        int a = 0, b = 0;
+        while(a < registrations.size || b < found.size) {
+            if(b == found.size || (a < registrations.size && ORDER.compare(registrations.get(a), found.get(b)) < 0)) {
+                candidates.add(registrations.get(a++));
+            } else {
+                candidates.add(found.get(b++));
+            }
+        }
+        return candidates;
+    }
+
+    private void updateHover() {
+        InputTarget top = null;
+        Array<Registration> candidates = collectCandidates();
+        for(int x = 0; x < candidates.size; x++) {
+            Registration registration = candidates.get(x);
+            Vector3 position = getPosition(registration.layer);
+            if(registration.target.hit(position.x, position.y)) {
+                top = registration.target;
+                break;
+            }
+        }
+
+        if(top != hovered) {
+            if(hovered != null) {
+                hovered.hover(false);
+            }
+            hovered = top;
+            if(top != null) {
+                top.hover(true);
+            }
+        }
+    }
+
+    private static class Registration {
+        private final InputTarget target;
+        private final Layer layer;
+        private final int priority;
+        private final long sequence;
+        private boolean registered = true;
+
+        private Registration(InputTarget target, Layer layer, int priority, long sequence) {
+            this.target = target;
+            this.layer = layer;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.amhsrobotics.pathgeneration.cameramechanics;
+
+/**
+ * Something on screen that reacts to the mouse, registered with an {@link InputDispatcher}.
+ * <p>
+ * Every position is in the coordinates of the layer the target was registered on, already unprojected by the
+ * dispatcher.
+ */
+public interface InputTarget {
+
+    /**
+     * Returns whether the position is on the target. Targets that are hidden or inactive should return false.
+     */
+    boolean hit(float x, float y);
+
+    /**
+     * Called when the target becomes, or stops being, the topmost target under the mouse.
+     */
+    void hover(boolean hovered);
+
+    /**
+     * Called when a button is pressed on the target. Returning true consumes the press, and the target receives the
+     * drags and the release of that button. Returning false passes the press on to the targets below.
+     */
+    boolean touchDown(float x, float y, int button);
+
+    void drag(float x, float y);
+
+    void touchUp(float x, float y, int button);
+}
@@ -0,0 +1,25 @@
+package com.amhsrobotics.pathgeneration.cameramechanics;
+
+/**
+ * An {@link InputTarget} that ignores everything but the hit test, to be extended by targets that only need some of
+ * the callbacks.
+ */
+public abstract class InputTargetAdapter implements InputTarget {
+
+    @Override
+    public void hover(boolean hovered) {
+    }
+
+    @Override
+    public boolean touchDown(float x, float y, int button) {
+        return false;
+    }
+
+    @Override
+    public void drag(float x, float y) {
+    }
+
+    @Override
+    public void touchUp(float x, float y, int button) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.amhsrobotics.pathgeneration.cameramechanics;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * A uniform grid over rectangles, to find what is under a point without testing everything on the field.
+ * <p>
+ * Every item is stored in each cell its bounds overlap. Moving an item only touches the cells it leaves and enters,
+ * and an item that stays within the same cells only has its bounds updated.
+ */
+public class SpatialIndex<T> {
+
+    private final float cellSize;
+    private final LongMap<Array<Entry<T>>> cells = new LongMap<>();
+    private final ObjectMap<T, Entry<T>> entries = new ObjectMap<>();
+
+    public SpatialIndex(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds the item, or moves it if it is already in the index.
+     */
+    public void put(T item, Rectangle bounds) {
+        int minX = cell(bounds.x);
+        int minY = cell(bounds.y);
+        int maxX = cell(bounds.x + bounds.width);
+        int maxY = cell(bounds.y + bounds.height);
+
+        Entry<T> entry = entries.get(item);
+        if(entry == null) {
+            entry = new Entry<>(item);
+            entries.put(item, entry);
+        } else if(entry.minX == minX && entry.minY == minY && entry.maxX == maxX && entry.maxY == maxY) {
+            entry.bounds.set(bounds);
+            return;
+        } else {
+            removeFromCells(entry);
+        }
+
+        entry.bounds.set(bounds);
+        entry.minX = minX;
+        entry.minY = minY;
+        entry.maxX = maxX;
+        entry.maxY = maxY;
+        for(int x = minX; x <= maxX; x++) {
+            for(int y = minY; y <= maxY; y++) {
+                Array<Entry<T>> cell = cells.get(key(x, y));
+                if(cell == null) {
+                    cell = new Array<>(false, 4);
+                    cells.put(key(x, y), cell);
+                }
+                cell.add(entry);
+            }
+        }
+    }
+
+    public boolean remove(T item) {
+        Entry<T> entry = entries.remove(item);
+        if(entry == null) {
+            return false;
+        }
+        removeFromCells(entry);
+        return true;
+    }
+
+    public boolean contains(T item) {
+        return entries.containsKey(item);
+    }
+
+    /**
+     * Adds every item whose bounds contain the point to <code>out</code>, in no particular order.
+     */
+    public Array<T> query(float x, float y, Array<T> out) {
+        Array<Entry<T>> cell = cells.get(key(cell(x), cell(y)));
+        if(cell != null) {
+            for(int i = 0; i < cell.size; i++) {
+                Entry<T> entry = cell.get(i);
+                if(entry.bounds.contains(x, y)) {
+                    out.add(entry.item);
+                }
+            }
+        }
+        return out;
+    }
+
+    public int size() {
+        return entries.size;
+    }
+
+    public void clear() {
+        cells.clear();
+        entries.clear();
+    }
+
+    private void removeFromCells(Entry<T> entry) {
+        for(int x = entry.minX; x <= entry.maxX; x++) {
+            for(int y = entry.minY; y <= entry.maxY; y++) {
+                long key = key(x, y);
+                Array<Entry<T>> cell = cells.get(key);
+                cell.removeValue(entry, true);
+                if(cell.size == 0) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    private static class Entry<T> {
+        private final T item;
+        private final Rectangle bounds = new Rectangle();
+        private int minX, minY, maxX, maxY;
+
+        private Entry(T item) {
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.amhsrobotics.pathgeneration.cameramechanics;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * An {@link InputTarget} for a sprite that acts as a button, clicked with the left mouse button.
+ */
+public abstract class SpriteTarget extends InputTargetAdapter {
+
+    private final Sprite sprite;
+
+    public SpriteTarget(Sprite sprite) {
+        this.sprite = sprite;
+    }
+
+    protected boolean isActive() {
+        return true;
+    }
+
+    protected abstract void clicked();
+
+    public Rectangle getBounds() {
+        return sprite.getBoundingRectangle();
+    }
+
+    @Override
+    public boolean hit(float x, float y) {
+        return isActive() && sprite.getBoundingRectangle().contains(x, y);
+    }
+
+    @Override
+    public boolean touchDown(float x, float y, int button) {
+        if(button == Input.Buttons.LEFT) {
+            clicked();
+            return true;
+        }
+        return false;
+    }
+}
@@ -19,6 +19,14 @@ public class FieldConstants {
         return new Vector2(zeroInInchesX, zeroInInchesY);
     }
 
+    /**
+     * Moves the zero of the field, given in inches from the corner like {@link #getInchZero()} returns it.
+     */
+    public static void setInchZero(Vector2 inchZero) {
+        REAL_ZERO.set((inchZero.x * Overlay.fieldManager.getPixelWidth()) / CALIBRATED_INCH_WIDTH,
+                (inchZero.y * Overlay.fieldManager.getPixelHeight()) / CALIBRATED_INCH_HEIGHT);
+    }
+
     public static Vector2 getInchVector(Vector2 position) {
         float locationInInchesX = (position.x * CALIBRATED_INCH_WIDTH) / Overlay.fieldManager.getPixelWidth();
         float locationInInchesY = (position.y * CALIBRATED_INCH_HEIGHT) / Overlay.fieldManager.getPixelHeight();
@@ -26,6 +34,10 @@ public class FieldConstants {
         return new Vector2(locationInInchesX - getInchZero().x, locationInInchesY - getInchZero().y);
     }
 
+    public static float getPixelDistance(float inches) {
+        return (inches * Overlay.fieldManager.getPixelWidth()) / CALIBRATED_INCH_WIDTH;
+    }
+
     public static Vector2 getImaginaryVector(Vector2 inchPosition) {
 
         Vector2 vec2 = new Vector2();
@@ -1,23 +1,20 @@
 package com.amhsrobotics.pathgeneration.field;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
 import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.math.Vector3;
 
 
 public class FieldGraphManager {
 
-    private Sprite field;
+    private FieldTiles field;
 
     public FieldGraphManager() {
-        this.field = new Sprite(new Texture("field/fieldrender.png"));
-        this.field.setPosition(0, 0);
+        this.field = Assets.getInstance().acquire(Assets.FIELD, FieldTiles.class);
     }
 
     public void render(SpriteBatch batch, CameraController cam) {
@@ -25,10 +22,7 @@ public class FieldGraphManager {
         batch.setProjectionMatrix(cam.getCamera().combined);
         batch.begin();
 
-        Vector3 unproj = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        cam.getCamera().unproject(unproj);
-
-        field.draw(batch);
+        field.render(batch, cam);
 
         batch.end();
 
@@ -57,7 +51,7 @@ public class FieldGraphManager {
         return new Vector2(getPixelWidth(), getPixelHeight());
     }
 
-    public Sprite getField() {
-        return field;
+    public void dispose() {
+        Assets.getInstance().release(Assets.FIELD);
     }
 }
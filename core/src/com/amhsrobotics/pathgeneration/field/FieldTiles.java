@@ -0,0 +1,239 @@
+package com.amhsrobotics.pathgeneration.field;
+
+import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Draws the field image from a pyramid of tiles, picking the level that matches the zoom of the camera and only drawing
+ * the tiles that are in view.
+ * <p>
+ * Level <code>0</code> is the image at full resolution and every following level is half the size of the one before,
+ * down to a single tile. The tiles are cut out of the image the first time it is seen and cached in the home directory
+ * of the user, so later runs never decode the full image. Only the most recently drawn tiles are kept on the GPU.
+ * <p>
+ * The tiles are loaded through {@link com.amhsrobotics.pathgeneration.assets.Assets} by a {@link FieldTilesLoader},
+ * which cuts them on a background thread while the loading screen is shown.
+ */
+public class FieldTiles implements Disposable {
+
+    public static final String CACHE_DIRECTORY = ".pathgenerator/cache/";
+
+    private static final int VERSION = 2;
+    private static final int TILE_SIZE = 512;
+    private static final int MAX_LOADED_TILES = 48;
+
+    private final FileHandle source;
+    private final FileHandle cache;
+
+    private int width;
+    private int height;
+    private int levels;
+
+    private final LinkedHashMap<String, Texture> loaded = new LinkedHashMap<String, Texture>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Texture> eldest) {
+            if(size() > MAX_LOADED_TILES) {
+                eldest.getValue().dispose();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public FieldTiles(FileHandle source) {
+        // keyed on the whole path, so images with the same name in other directories or formats get their own cache
+        this(source, Gdx.files.external(CACHE_DIRECTORY + source.nameWithoutExtension() + "-" + Integer.toHexString(source.path().hashCode()) + "/"));
+    }
+
+    public FieldTiles(FileHandle source, FileHandle cache) {
+        this.source = source;
+        this.cache = cache;
+    }
+
+    /**
+     * Reads the tile cache, building it first if it is missing, incomplete or was built from another image. Only files and
+     * {@link Pixmap}s are used, so it can be called from any thread, but it must be called before the tiles are drawn.
+     */
+    public void prepare() {
+        long checksum = getChecksum();
+        if(!readIndex(checksum)) {
+            buildCache(checksum);
+        }
+    }
+
+    public void render(SpriteBatch batch, CameraController cam) {
+        OrthographicCamera camera = cam.getCamera();
+        int level = getLevel(camera.zoom);
+
+        int levelWidth = getLevelSize(width, level);
+        int levelHeight = getLevelSize(height, level);
+        float scaleX = (float) width / levelWidth;
+        float scaleY = (float) height / levelHeight;
+
+        // the view in level pixels, with rows counted from the top of the image
+        float halfWidth = camera.viewportWidth * camera.zoom / 2;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2;
+        int firstColumn = Math.max(0, (int) ((camera.position.x - halfWidth) / scaleX / TILE_SIZE));
+        int lastColumn = Math.min((levelWidth - 1) / TILE_SIZE, (int) ((camera.position.x + halfWidth) / scaleX / TILE_SIZE));
+        int firstRow = Math.max(0, (int) ((height - camera.position.y - halfHeight) / scaleY / TILE_SIZE));
+        int lastRow = Math.min((levelHeight - 1) / TILE_SIZE, (int) ((height - camera.position.y + halfHeight) / scaleY / TILE_SIZE));
+
+        for(int row = firstRow; row <= lastRow; row++) {
+            for(int column = firstColumn; column <= lastColumn; column++) {
+                Texture tile = getTile(level, column, row);
+                float x = column * TILE_SIZE * scaleX;
+                float top = height - row * TILE_SIZE * scaleY;
+                float tileWidth = tile.getWidth() * scaleX;
+                float tileHeight = tile.getHeight() * scaleY;
+                batch.draw(tile, x, top - tileHeight, tileWidth, tileHeight);
+            }
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getLevelCount() {
+        return levels;
+    }
+
+    @Override
+    public void dispose() {
+        for(Texture texture : loaded.values()) {
+            texture.dispose();
+        }
+        loaded.clear();
+    }
+
+    /**
+     * Returns the level whose texels are closest to, but not smaller than, a screen pixel at the given zoom.
+     */
+    private int getLevel(float zoom) {
+        int level = 0;
+        while(level + 1 < levels && (1 << (level + 1)) <= zoom) {
+            level++;
+        }
+        return level;
+    }
+
+    private Texture getTile(int level, int column, int row) {
+        String name = getTileName(level, column, row);
+        Texture tile = loaded.get(name);
+        if(tile == null) {
+            tile = new Texture(cache.child(name));
+            tile.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            loaded.put(name, tile);
+        }
+        return tile;
+    }
+
+    /**
+     * Reads the size of the image from the index, as long as the cache was built from the same contents and none of
+     * its tiles are missing.
+     */
+    private boolean readIndex(long checksum) {
+        FileHandle index = cache.child("index");
+        if(!index.exists()) {
+            return false;
+        }
+        try {
+            String[] values = index.readString().trim().split(" ");
+            // images re-exported at the same size often have the same length, so the contents are compared too
+            if(Integer.parseInt(values[0]) != VERSION || Long.parseLong(values[1]) != source.length() || Long.parseLong(values[2]) != checksum) {
+                return false;
+            }
+            width = Integer.parseInt(values[3]);
+            height = Integer.parseInt(values[4]);
+            levels = Integer.parseInt(values[5]);
+            for(int l = 0; l < levels; l++) {
+                for(int row = 0; row * TILE_SIZE < getLevelSize(height, l); row++) {
+                    for(int column = 0; column * TILE_SIZE < getLevelSize(width, l); column++) {
+                        if(!cache.child(getTileName(l, column, row)).exists()) {
+                            Gdx.app.error("FieldTiles", "Rebuilding tile cache missing " + getTileName(l, column, row));
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            Gdx.app.error("FieldTiles", "Rebuilding unreadable tile cache", e);
+            return false;
+        }
+    }
+
+    private void buildCache(long checksum) {
+        long start = System.currentTimeMillis();
+        cache.deleteDirectory();
+
+        Pixmap image = new Pixmap(source);
+        width = image.getWidth();
+        height = image.getHeight();
+        levels = 1;
+        while(getLevelSize(width, levels - 1) > TILE_SIZE || getLevelSize(height, levels - 1) > TILE_SIZE) {
+            levels++;
+        }
+
+        Pixmap level = image;
+        for(int l = 0; l < levels; l++) {
+            if(l > 0) {
+                Pixmap smaller = new Pixmap(getLevelSize(width, l), getLevelSize(height, l), level.getFormat());
+                smaller.setBlending(Pixmap.Blending.None);
+                smaller.setFilter(Pixmap.Filter.BiLinear);
+                smaller.drawPixmap(level, 0, 0, level.getWidth(), level.getHeight(), 0, 0, smaller.getWidth(), smaller.getHeight());
+                level.dispose();
+                level = smaller;
+            }
+            writeTiles(level, l);
+        }
+        level.dispose();
+
+        cache.child("index").writeString(VERSION + " " + source.length() + " " + checksum + " " + width + " " + height + " " + levels, false);
+        Gdx.app.log("FieldTiles", "Built " + levels + " tile levels in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private void writeTiles(Pixmap level, int l) {
+        for(int row = 0; row * TILE_SIZE < level.getHeight(); row++) {
+            for(int column = 0; column * TILE_SIZE < level.getWidth(); column++) {
+                int tileWidth = Math.min(TILE_SIZE, level.getWidth() - column * TILE_SIZE);
+                int tileHeight = Math.min(TILE_SIZE, level.getHeight() - row * TILE_SIZE);
+                Pixmap tile = new Pixmap(tileWidth, tileHeight, level.getFormat());
+                tile.setBlending(Pixmap.Blending.None);
+                tile.drawPixmap(level, 0, 0, column * TILE_SIZE, row * TILE_SIZE, tileWidth, tileHeight);
+                PixmapIO.writePNG(cache.child(getTileName(l, column, row)), tile);
+                tile.dispose();
+            }
+        }
+    }
+
+    private long getChecksum() {
+        CRC32 crc = new CRC32();
+        crc.update(source.readBytes());
+        return crc.getValue();
+    }
+
+    private static int getLevelSize(int size, int level) {
+        return Math.max(1, (size + (1 << level) - 1) >> level);
+    }
+
+    private static String getTileName(int level, int column, int row) {
+        return level + "/" + column + "_" + row + ".png";
+    }
+}
@@ -0,0 +1,45 @@
+package com.amhsrobotics.pathgeneration.field;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Loads {@link FieldTiles} for an {@link AssetManager}, cutting the tiles on its loading thread instead of the render
+ * thread.
+ */
+public class FieldTilesLoader extends AsynchronousAssetLoader<FieldTiles, FieldTilesLoader.FieldTilesParameter> {
+
+    private FieldTiles tiles;
+
+    public FieldTilesLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, FieldTilesParameter parameter) {
+        // the textures of the tiles are only made when they are drawn, so nothing here needs the GL context
+        tiles = new FieldTiles(file);
+        tiles.prepare();
+    }
+
+    @Override
+    public FieldTiles loadSync(AssetManager manager, String fileName, FileHandle file, FieldTilesParameter parameter) {
+        FieldTiles loaded = tiles;
+        tiles = null;
+        return loaded;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, FieldTilesParameter parameter) {
+        return null;
+    }
+
+    public static class FieldTilesParameter extends AssetLoaderParameters<FieldTiles> {
+    }
+}
@@ -1,19 +1,19 @@
 package com.amhsrobotics.pathgeneration.field;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
 import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
-import com.amhsrobotics.pathgeneration.headsup.Button;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputDispatcher;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTargetAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.math.Vector3;
 
-import java.lang.reflect.Field;
 import java.text.DecimalFormat;
 
 
@@ -30,8 +30,25 @@ public class FindPoint {
     private DecimalFormat format = new DecimalFormat("##.00");
 
     public FindPoint() {
-        this.dot = new Sprite(new Texture(Gdx.files.internal("field/dot.png")));
-        this.font = new BitmapFont(Gdx.files.internal("fonts/ari2.fnt"));
+        this.dot = new Sprite(Assets.getInstance().acquireTexture(Assets.DOT));
+        this.font = Assets.getInstance().acquireFont(Assets.FONT);
+
+        Overlay.input.register(new InputTargetAdapter() {
+            @Override
+            public boolean hit(float x, float y) {
+                return enable;
+            }
+
+            @Override
+            public boolean touchDown(float x, float y, int button) {
+                if(button != Input.Buttons.LEFT) {
+                    return false;
+                }
+                dot.setCenter(x, y);
+                position.set(x, y);
+                return true;
+            }
+        }, InputDispatcher.Layer.WORLD, InputDispatcher.PRIORITY_TOOL);
     }
     
     public void find() {
@@ -49,27 +66,15 @@ public class FindPoint {
 
         if(enable) {
             cam.setPan(false);
-            Vector3 unproj = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-            cam.getCamera().unproject(unproj);
 
-            boolean en2 = true;
-            for(Button b : Overlay.buttonManager.getButtons()) {
-                if(b.hovered) {
-                    en2 = false;
-                }
-            }
-
-            if(en2) {
-                if(Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                    this.dot.setCenter(unproj.x, unproj.y);
-                    this.position.set(unproj.x, unproj.y);
-                } else if(Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
-                    disable(cam);
-                }
+            if(Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
+                disable(cam);
             }
 
             batch.begin();
             this.dot.draw(batch);
+            this.font.setColor(Color.WHITE);
+            this.font.getData().setScale(1f);
             this.layout.setText(font, "(" + format.format(FieldConstants.getInchVector(position).x) + ", " + format.format(FieldConstants.getInchVector(position).y) + ")");
             this.font.draw(batch, "(" + format.format(FieldConstants.getInchVector(position).x) + ", " + format.format(FieldConstants.getInchVector(position).y) + ")", (dot.getX() + dot.getWidth() / 2) - layout.width / 2, this.dot.getY() + 50);
             batch.end();
@@ -1,8 +1,10 @@
 package com.amhsrobotics.pathgeneration.field;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
 import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
-import com.amhsrobotics.pathgeneration.headsup.Button;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputDispatcher;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTargetAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
@@ -28,12 +30,38 @@ public class MeasureTool {
     private ShapeRenderer renderer;
 
     public MeasureTool() {
-        this.font = new BitmapFont(Gdx.files.internal("fonts/ari2.fnt"));
-        font.setColor(Color.WHITE);
-        font.getData().setScale(0.7f);
+        this.font = Assets.getInstance().acquireFont(Assets.FONT);
 
         renderer = new ShapeRenderer();
         renderer.setColor(Color.TAN);
+
+        Overlay.input.register(new InputTargetAdapter() {
+            @Override
+            public boolean hit(float x, float y) {
+                return enable;
+            }
+
+            @Override
+            public boolean touchDown(float x, float y, int button) {
+                if(button == Input.Buttons.LEFT) {
+                    begin = snap(x, y);
+                    return true;
+                } else if(button == Input.Buttons.RIGHT) {
+                    end = snap(x, y);
+                    return true;
+                }
+                return false;
+            }
+        }, InputDispatcher.Layer.WORLD, InputDispatcher.PRIORITY_TOOL);
+    }
+
+    // align the measure tool to the waypoint under the click, if there is one
+    private Vector2 snap(float x, float y) {
+        Waypoint w = Overlay.waypointManager.getWaypointAt(x, y);
+        if(w != null) {
+            return new Vector2(w.getPosition().x, w.getPosition().y);
+        }
+        return new Vector2(x, y);
     }
 
     public void enable() {
@@ -53,40 +81,17 @@ public class MeasureTool {
     public void render(SpriteBatch batch, CameraController cam) {
 
         if(enable) {
-            Vector3 unproj = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-            cam.getCamera().unproject(unproj);
-
             cam.setPan(false);
 
-            renderer.setProjectionMatrix(cam.getCamera().combined);
-            renderer.begin(ShapeRenderer.ShapeType.Filled);
-
-            boolean en2 = true;
-            for(Button b : Overlay.buttonManager.getButtons()) {
-                if(b.hovered) {
-                    en2 = false;
-                }
+            if(Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
+                disable(cam);
+                return;
             }
 
-            if(en2) {
-                if(Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                    begin = new Vector2(unproj.x, unproj.y);
-                    for(Waypoint w : Overlay.waypointManager.getWaypoints()) {
-                        if(w.hovered) { //align measure tool to waypoint
-                            begin = new Vector2(w.getPosition().x, w.getPosition().y);
-                        }
-                    }
-                } else if(Gdx.input.isButtonJustPressed(Input.Buttons.RIGHT)) {
-                    end = new Vector2(unproj.x, unproj.y);
-                    for(Waypoint w : Overlay.waypointManager.getWaypoints()) {
-                        if(w.hovered) { //align measure tool to waypoint
-                            end = new Vector2(w.getPosition().x, w.getPosition().y);
-                        }
-                    }
-                } else if(Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
-                    disable(cam);
-                }
-            }
+            Vector3 unproj = Overlay.input.getWorldMouse();
+
+            renderer.setProjectionMatrix(cam.getCamera().combined);
+            renderer.begin(ShapeRenderer.ShapeType.Filled);
 
             if(begin != null && end == null) {
                 renderer.rectLine(begin, new Vector2(unproj.x, unproj.y), 3);
@@ -96,6 +101,8 @@ public class MeasureTool {
                 renderer.rectLine(begin, end, 3);
                 batch.setProjectionMatrix(cam.getCamera().combined);
                 batch.begin();
+                font.setColor(Color.WHITE);
+                font.getData().setScale(0.7f);
                 layout.setText(font, format.format(inchesBetweenPoints(begin, end)) + "in");
                 Rectangle temp = new Rectangle(begin.x, begin.y, end.x - begin.x, end.y - begin.y);
                 font.draw(batch, format.format(inchesBetweenPoints(begin, end)) + "in", begin.x + ((end.x - begin.x) / 2) - layout.width / 2, temp.getY() + temp.getHeight() / 2);
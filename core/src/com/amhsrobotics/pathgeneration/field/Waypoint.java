@@ -1,18 +1,20 @@
 package com.amhsrobotics.pathgeneration.field;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
 import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputDispatcher;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTarget;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTargetAdapter;
 import com.amhsrobotics.pathgeneration.headsup.WaypointProperties;
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.math.Vector3;
 
 import java.text.DecimalFormat;
 
@@ -31,8 +33,31 @@ public class Waypoint {
 
     private WaypointProperties properties;
 
+    private final InputTarget target = new InputTargetAdapter() {
+        @Override
+        public boolean hit(float x, float y) {
+            return sprite.getBoundingRectangle().contains(x, y);
+        }
+
+        @Override
+        public void hover(boolean hovered) {
+            Waypoint.this.hovered = hovered;
+        }
+
+        @Override
+        public boolean touchDown(float x, float y, int button) {
+            // the field tools take clicks on waypoints themselves
+            if(button != Input.Buttons.LEFT || Overlay.isToolActive()) {
+                return false;
+            }
+            Overlay.waypointSelected = ID;
+            Overlay.splineSelected = 0;
+            return true;
+        }
+    };
+
     public Waypoint(float x, float y, int ID, boolean isInInches) {
-        this.sprite = new Sprite(new Texture(Gdx.files.internal("field/waypoint.png")));
+        this.sprite = new Sprite(Assets.getInstance().acquireTexture(Assets.WAYPOINT));
         this.sprite.setSize(48, 48);
 
         this.ID = ID;
@@ -46,8 +71,8 @@ public class Waypoint {
             centeredPosition = new Vector2(realPosition.x - sprite.getWidth() / 2, realPosition.y - 4);
         }
 
-
-        properties = new WaypointProperties(this);
+        sprite.setPosition(centeredPosition.x, centeredPosition.y);
+        Overlay.input.register(target, InputDispatcher.Layer.WORLD, InputDispatcher.PRIORITY_WAYPOINT, sprite.getBoundingRectangle());
     }
 
     public Vector2 getPosition() {
@@ -56,22 +81,19 @@ public class Waypoint {
 
     public void render(SpriteBatch batch, CameraController cam, BitmapFont font) {
 
-        Vector3 unproj = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        cam.getCamera().unproject(unproj);
+        if(!cam.isVisible(sprite.getBoundingRectangle())) {
+            return;
+        }
 
         batch.setProjectionMatrix(cam.getCamera().combined);
         batch.begin();
 
-        sprite.setPosition(centeredPosition.x, centeredPosition.y);
         sprite.draw(batch);
-        if(sprite.getBoundingRectangle().contains(unproj.x, unproj.y)) {
-            this.hovered = true;
+        if(hovered) {
             this.layout.setText(font, "(" + format.format(FieldConstants.getInchVector(realPosition).x) + ", " + format.format(FieldConstants.getInchVector(realPosition).y) + ")");
             font.setColor(Color.GOLDENROD);
             font.getData().setScale(0.7f);
             font.draw(batch, "(" + format.format(FieldConstants.getInchVector(realPosition).x) + ", " + format.format(FieldConstants.getInchVector(realPosition).y) + ")", (sprite.getX() + sprite.getWidth() / 2) - layout.width / 2, sprite.getY() + 60);
-        } else {
-            this.hovered = false;
         }
 
         batch.end();
@@ -86,12 +108,27 @@ public class Waypoint {
     }
 
     public void drawProperties(SpriteBatch batch, CameraController cam) {
+        // the properties add text fields to the stage, so they are only made once the waypoint is first selected
+        if(properties == null) {
+            properties = new WaypointProperties(this);
+        }
         this.properties.render(batch, cam);
     }
 
+    public void dispose() {
+        Overlay.input.unregister(target);
+        Assets.getInstance().release(Assets.WAYPOINT);
+        if(properties != null) {
+            properties.dispose();
+        }
+    }
+
     public void setPositionFromInches(Vector2 vec) {
         Vector2 t = FieldConstants.getImaginaryVector(new Vector2(vec.x, vec.y));
         realPosition = new Vector2(t.x, t.y);
         centeredPosition = new Vector2(realPosition.x - sprite.getWidth() / 2, realPosition.y - 4);
+        sprite.setPosition(centeredPosition.x, centeredPosition.y);
+        Overlay.input.setBounds(target, sprite.getBoundingRectangle());
+        Overlay.waypointManager.moved(this);
     }
 }
@@ -1,77 +1,71 @@
 package com.amhsrobotics.pathgeneration.field;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
+import com.amhsrobotics.pathgeneration.EntityRegistry;
 import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
-import com.amhsrobotics.pathgeneration.headsup.Button;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputDispatcher;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTargetAdapter;
+import com.amhsrobotics.pathgeneration.cameramechanics.SpatialIndex;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
-import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.math.Vector3;
-
-import java.text.DecimalFormat;
-import java.util.ArrayList;
-
+import com.badlogic.gdx.utils.Array;
 
 public class WaypointManager {
 
     private BitmapFont font;
     private boolean enable = false;
 
-    private ArrayList<Waypoint> waypoints;
+    private EntityRegistry<Waypoint> waypoints;
+    private SpatialIndex<Waypoint> index = new SpatialIndex<>(128);
+    private Array<Waypoint> found = new Array<>();
 
     private int currentID = 1;
 
     public WaypointManager() {
-        this.font = new BitmapFont(Gdx.files.internal("fonts/ari2.fnt"));
+        this.font = Assets.getInstance().acquireFont(Assets.FONT);
 
-        waypoints = new ArrayList<>();
+        waypoints = new EntityRegistry<>();
         FieldConstants.loadDefaultWaypoints(this);
+
+        Overlay.input.register(new InputTargetAdapter() {
+            @Override
+            public boolean hit(float x, float y) {
+                return enable;
+            }
+
+            @Override
+            public boolean touchDown(float x, float y, int button) {
+                if(button == Input.Buttons.LEFT) {
+                    addWaypointWithPixels(x, y);
+                    return true;
+                } else if(button == Input.Buttons.RIGHT) {
+                    Waypoint w = getWaypointAt(x, y);
+                    if(w != null) {
+                        removeWaypoint(w.getID());
+                    }
+                    return true;
+                }
+                return false;
+            }
+        }, InputDispatcher.Layer.WORLD, InputDispatcher.PRIORITY_TOOL);
     }
 
     public void render(SpriteBatch batch, CameraController cam) {
 
-        Vector3 unproj = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        cam.getCamera().unproject(unproj);
-
         if(enable) {
-
             cam.setPan(false);
 
-            boolean en2 = true;
-            for(Button b : Overlay.buttonManager.getButtons()) {
-                if (b.hovered) {
-                    en2 = false;
-                    break;
-                }
-            }
-
-            if(en2) {
-                if(Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                    addWaypointWithPixels(unproj.x, unproj.y);
-                } else if(Gdx.input.isButtonJustPressed(Input.Buttons.RIGHT)) {
-                    for(int x = 0; x < waypoints.size(); x++) {
-                        if(waypoints.get(x).getRect().contains(unproj.x, unproj.y)) {
-                            Overlay.waypointSelected = 0;
-                            waypoints.remove(x);
-                        }
-                    }
-                } else if(Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
-                    disableClick(cam);
-                }
+            // keys have no position to route, so the escape key is still checked here
+            if(Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
+                disableClick(cam);
             }
         }
 
         for(Waypoint w : waypoints) {
             w.render(batch, cam, font);
-            if(w.getRect().contains(unproj.x, unproj.y) && Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                Overlay.waypointSelected = w.getID();
-                Overlay.splineSelected = 0;
-            }
         }
 
     }
@@ -88,25 +82,83 @@ public class WaypointManager {
     }
 
     public void addWaypointWithInches(float x, float y) {
-        this.waypoints.add(new Waypoint(x, y, currentID, true));
-        currentID++;
+        add(new Waypoint(x, y, currentID, true));
+    }
+
+    /**
+     * Adds a waypoint under an ID that is not in use yet, like the one it was saved with.
+     */
+    public void addWaypointWithInches(float x, float y, int ID) {
+        add(new Waypoint(x, y, ID, true));
     }
 
     public void addWaypointWithPixels(float x, float y) {
-        this.waypoints.add(new Waypoint(x, y, currentID, false));
-        currentID++;
+        add(new Waypoint(x, y, currentID, false));
     }
 
-    public ArrayList<Waypoint> getWaypoints() {
-        return waypoints;
+    private void add(Waypoint w) {
+        this.waypoints.add(w.getID(), w);
+        this.index.put(w, w.getRect());
+        currentID = Math.max(currentID, w.getID() + 1);
     }
 
-    public Waypoint getWaypointByID(int ID) {
+    /**
+     * Removes and disposes every waypoint.
+     */
+    public void clear() {
         for(Waypoint w : waypoints) {
-            if(w.getID() == ID) {
-                return w;
+            w.dispose();
+        }
+        waypoints.clear();
+        index.clear();
+        Overlay.waypointSelected = 0;
+    }
+
+    /**
+     * Removes the waypoint with the ID and disposes it, doing nothing if there is none.
+     */
+    public void removeWaypoint(int ID) {
+        Waypoint w = waypoints.remove(ID);
+        if(w == null) {
+            return;
+        }
+        if(Overlay.waypointSelected == ID) {
+            Overlay.waypointSelected = 0;
+        }
+        index.remove(w);
+        w.dispose();
+    }
+
+    /**
+     * Updates the lookup of a waypoint that has moved.
+     */
+    void moved(Waypoint w) {
+        if(index.contains(w)) {
+            index.put(w, w.getRect());
+        }
+    }
+
+    public Iterable<Waypoint> getWaypoints() {
+        return waypoints;
+    }
+
+    /**
+     * Returns the topmost waypoint whose sprite contains the position, or null if there is none.
+     */
+    public Waypoint getWaypointAt(float x, float y) {
+        // IDs only increase, so the waypoint added last has the highest
+        Waypoint top = null;
+        index.query(x, y, found);
+        for(int i = 0; i < found.size; i++) {
+            if(top == null || found.get(i).getID() > top.getID()) {
+                top = found.get(i);
             }
         }
-        return null;
+        found.clear();
+        return top;
+    }
+
+    public Waypoint getWaypointByID(int ID) {
+        return waypoints.get(ID);
     }
 }
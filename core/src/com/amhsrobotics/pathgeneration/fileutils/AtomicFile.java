@@ -0,0 +1,52 @@
+package com.amhsrobotics.pathgeneration.fileutils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes files through a temporary file next to them, which only replaces the file once it has been written
+ * completely. A write that fails part way leaves the old file as it was.
+ */
+public class AtomicFile {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public interface Content {
+        void write(OutputStream out) throws IOException;
+    }
+
+    public static void write(File file, Content content) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        File temp = File.createTempFile("." + file.getName() + "-", ".tmp", directory);
+
+        boolean written = false;
+        try {
+            FileOutputStream stream = new FileOutputStream(temp);
+            try {
+                OutputStream out = new BufferedOutputStream(stream, BUFFER_SIZE);
+                content.write(out);
+                out.flush();
+                stream.getFD().sync();
+            } finally {
+                stream.close();
+            }
+
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            written = true;
+        } finally {
+            if(!written) {
+                temp.delete();
+            }
+        }
+    }
+}
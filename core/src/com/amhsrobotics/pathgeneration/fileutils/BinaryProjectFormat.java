@@ -0,0 +1,110 @@
+package com.amhsrobotics.pathgeneration.fileutils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The compact format projects are saved in by default, a header followed by the splines and the waypoints as plain
+ * numbers.
+ */
+public class BinaryProjectFormat implements ProjectFormat {
+
+    private static final int MAGIC = 0x50475250; // "PGRP"
+
+    private static final SplineData.Type[] TYPES = SplineData.Type.values();
+
+    @Override
+    public String getExtension() {
+        return "pgp";
+    }
+
+    @Override
+    public void write(pgData data, OutputStream out) throws IOException {
+        DataOutputStream stream = new DataOutputStream(out);
+
+        stream.writeInt(MAGIC);
+        stream.writeShort(pgData.VERSION);
+        stream.writeFloat(data.zeroX);
+        stream.writeFloat(data.zeroY);
+
+        stream.writeInt(data.splines.size());
+        for(SplineData spline : data.splines) {
+            stream.writeInt(spline.ID);
+            stream.writeByte(spline.type.ordinal());
+            stream.writeInt(spline.color);
+            stream.writeInt(spline.points.size());
+            for(SplineData.Point point : spline.points) {
+                stream.writeFloat(point.x);
+                stream.writeFloat(point.y);
+                stream.writeDouble(point.heading);
+                stream.writeFloat(point.velocity);
+            }
+        }
+
+        stream.writeInt(data.waypoints.size());
+        for(WaypointData waypoint : data.waypoints) {
+            stream.writeInt(waypoint.ID);
+            stream.writeFloat(waypoint.x);
+            stream.writeFloat(waypoint.y);
+        }
+        stream.flush();
+    }
+
+    @Override
+    public pgData read(InputStream in) throws IOException {
+        DataInputStream stream = new DataInputStream(in);
+
+        if(stream.readInt() != MAGIC) {
+            throw new IOException("Not a project file");
+        }
+        pgData data = new pgData();
+        data.version = stream.readUnsignedShort();
+        if(data.version > pgData.VERSION) {
+            throw new IOException("Project was saved by a newer version (" + data.version + ")");
+        }
+        data.zeroX = stream.readFloat();
+        data.zeroY = stream.readFloat();
+
+        int splines = readCount(stream);
+        for(int x = 0; x < splines; x++) {
+            SplineData spline = new SplineData();
+            spline.ID = stream.readInt();
+            int type = stream.readUnsignedByte();
+            if(type >= TYPES.length) {
+                throw new IOException("Unknown spline type " + type);
+            }
+            spline.type = TYPES[type];
+            spline.color = stream.readInt();
+
+            int points = readCount(stream);
+            for(int y = 0; y < points; y++) {
+                float pointX = stream.readFloat();
+                float pointY = stream.readFloat();
+                double heading = data.version < 2 ? stream.readFloat() : stream.readDouble();
+                spline.points.add(new SplineData.Point(pointX, pointY, heading, stream.readFloat()));
+            }
+            data.splines.add(spline);
+        }
+
+        int waypoints = readCount(stream);
+        for(int x = 0; x < waypoints; x++) {
+            data.waypoints.add(new WaypointData(stream.readInt(), stream.readFloat(), stream.readFloat()));
+        }
+        return data;
+    }
+
+    /**
+     * Reads the amount of entries that follow. The lists are not sized from it up front, so a corrupt count ends in an
+     * {@link java.io.EOFException} rather than a huge allocation.
+     */
+    private static int readCount(DataInputStream stream) throws IOException {
+        int count = stream.readInt();
+        if(count < 0) {
+            throw new IOException("Corrupt project file");
+        }
+        return count;
+    }
+}
@@ -0,0 +1,26 @@
+package com.amhsrobotics.pathgeneration.fileutils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Exports the transforms of every spline as rows of comma separated values, one transform per row.
+ */
+public class CsvExportFormat implements ExportFormat {
+
+    @Override
+    public String getExtension() {
+        return "csv";
+    }
+
+    @Override
+    public void write(pgData data, Writer out) throws IOException {
+        out.write("id,type,index,x,y,heading,velocity\n");
+        for(SplineData spline : data.splines) {
+            for(int x = 0; x < spline.points.size(); x++) {
+                SplineData.Point point = spline.points.get(x);
+                out.write(spline.ID + "," + spline.type.name() + "," + x + "," + point.x + "," + point.y + "," + point.heading + "," + point.velocity + "\n");
+            }
+        }
+    }
+}
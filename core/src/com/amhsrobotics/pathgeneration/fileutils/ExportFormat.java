@@ -0,0 +1,17 @@
+package com.amhsrobotics.pathgeneration.fileutils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A way of exporting the splines of a project for use outside the editor, such as in robot code.
+ */
+public interface ExportFormat {
+
+    /**
+     * Returns the extension of files in this format, without the dot.
+     */
+    String getExtension();
+
+    void write(pgData data, Writer out) throws IOException;
+}
@@ -1,36 +1,225 @@
 package com.amhsrobotics.pathgeneration.fileutils;
 
 import com.amhsrobotics.pathgeneration.Overlay;
+import com.amhsrobotics.pathgeneration.field.FieldConstants;
+import com.amhsrobotics.pathgeneration.field.Waypoint;
+import com.amhsrobotics.pathgeneration.parametrics.CubicController;
+import com.amhsrobotics.pathgeneration.parametrics.QuinticController;
 import com.amhsrobotics.pathgeneration.parametrics.abstractions.SplineController;
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.WithVelocity;
+import com.amhsrobotics.pathgeneration.positioning.library.Transform;
+import com.amhsrobotics.pathgeneration.positioning.library.TransformWithVelocity;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
-import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntSet;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 
 public class FileProcessor {
 
-    private Json json;
-    private FileHandle handle;
+    public static final ProjectFormat BINARY = new BinaryProjectFormat();
+    public static final ProjectFormat JSON = new JsonProjectFormat();
+
+    public static final ExportFormat JAVA = new JavaExportFormat();
+    public static final ExportFormat CSV = new CsvExportFormat();
+    public static final ExportFormat TRAJECTORY = new TrajectoryExportFormat();
+
     private pgData data;
 
     public FileProcessor() {
-        this.json = new Json();
         data = new pgData();
     }
 
-/*    public void read(String filename) {
-        this.handle = Gdx.files.absolute(filename);
-        data = json.fromJson(pgData.class, handle.readString());
+    /**
+     * Returns the format of a project file from its extension, files that are not JSON being binary.
+     */
+    public static ProjectFormat getFormat(String filename) {
+        return filename.toLowerCase().endsWith("." + JSON.getExtension()) ? JSON : BINARY;
+    }
+
+    /**
+     * Returns the export format for a file from its extension, files that are neither CSV nor trajectories being Java.
+     */
+    public static ExportFormat getExportFormat(String filename) {
+        String lowerCase = filename.toLowerCase();
+        if(lowerCase.endsWith("." + CSV.getExtension())) {
+            return CSV;
+        }
+        return lowerCase.endsWith("." + TRAJECTORY.getExtension()) ? TRAJECTORY : JAVA;
+    }
+
+    /**
+     * Reads a project without touching the editor or this processor, so it can be called from any thread. See
+     * {@link #load(pgData)}.
+     *
+     * @throws IOException if the file cannot be read, is not a project, repeats an ID or has a spline that cannot be
+     *                     made.
+     */
+    public pgData read(String filename) throws IOException {
+        FileHandle handle = Gdx.files.absolute(filename);
+
+        long start = System.nanoTime();
+        pgData data;
+        InputStream in = new BufferedInputStream(new FileInputStream(handle.file()));
+        try {
+            data = getFormat(filename).read(in);
+        } finally {
+            in.close();
+        }
+        check(data);
+        Gdx.app.log("FileUtils", "Read " + data.splines.size() + " splines and " + data.waypoints.size() + " waypoints in " + (System.nanoTime() - start) / 1000000 + "ms");
+        return data;
+    }
+
+    /**
+     * Rejects a project that repeats an ID or has a spline without a type or with fewer than two points, such as a hand
+     * edited or merged JSON file, before the editor is cleared to load it.
+     */
+    private static void check(pgData data) throws IOException {
+        IntSet IDs = new IntSet(data.splines.size());
+        for(SplineData spline : data.splines) {
+            if(!IDs.add(spline.ID)) {
+                throw new IOException("Spline ID " + spline.ID + " appears more than once");
+            }
+            if(spline.type == null) {
+                throw new IOException("Spline " + spline.ID + " has no known type");
+            }
+            if(spline.points == null || spline.points.size() < 2) {
+                throw new IOException("Spline " + spline.ID + " needs at least 2 points");
+            }
+        }
+        IDs.clear();
+        for(WaypointData waypoint : data.waypoints) {
+            if(!IDs.add(waypoint.ID)) {
+                throw new IOException("Waypoint ID " + waypoint.ID + " appears more than once");
+            }
+        }
+    }
+
+    /**
+     * Replaces the splines and waypoints in the editor with those of the project. Must be called on the render thread.
+     */
+    public void load(pgData data) {
+        this.data = data;
+
+        FieldConstants.setInchZero(new Vector2(data.zeroX, data.zeroY));
+        Overlay.splineManager.clear();
+        Overlay.waypointManager.clear();
+
+        // every controller starts generating on the workers when it is made, and adding one to the manager waits for
+        // its path, so all of them are made before any is added for the paths to be generated in parallel
+        SplineController[] controllers = new SplineController[data.splines.size()];
+        for(int x = 0; x < controllers.length; x++) {
+            controllers[x] = createController(data.splines.get(x));
+        }
+        for(int x = 0; x < controllers.length; x++) {
+            Overlay.splineManager.addSpline(controllers[x], data.splines.get(x).ID);
+        }
+
+        for(WaypointData w : data.waypoints) {
+            Overlay.waypointManager.addWaypointWithInches(w.x, w.y, w.ID);
+        }
+    }
+
+    /**
+     * Saves the splines and waypoints in the editor. Must be called on the render thread.
+     */
+    public void save(String filename) throws IOException {
+        FileHandle handle = Gdx.files.absolute(filename);
+        this.data = capture();
+
+        long start = System.nanoTime();
+        final ProjectFormat format = getFormat(filename);
+        AtomicFile.write(handle.file(), new AtomicFile.Content() {
+            @Override
+            public void write(OutputStream out) throws IOException {
+                format.write(data, out);
+            }
+        });
+        Gdx.app.log("FileUtils", "Saved project in " + (System.nanoTime() - start) / 1000000 + "ms");
+    }
+
+    /**
+     * Exports the splines in the editor, replacing the file. Must be called on the render thread.
+     */
+    public void export(String filename) throws IOException {
+        FileHandle handle = Gdx.files.absolute(filename);
+        final pgData data = capture();
 
-        Overlay.splineManager.setSplines(data.splines);
-    }*/
+        long start = System.nanoTime();
+        final ExportFormat format = getExportFormat(filename);
+        AtomicFile.write(handle.file(), new AtomicFile.Content() {
+            @Override
+            public void write(OutputStream out) throws IOException {
+                Writer writer = new OutputStreamWriter(out, "UTF-8");
+                format.write(data, writer);
+                writer.flush();
+            }
+        });
+        Gdx.app.log("FileUtils", "Exported " + data.splines.size() + " splines in " + (System.nanoTime() - start) / 1000000 + "ms");
+    }
+
+    private pgData capture() {
+        pgData data = new pgData();
 
-    public void export(String filename) {
+        Vector2 zero = FieldConstants.getInchZero();
+        data.zeroX = zero.x;
+        data.zeroY = zero.y;
 
-        this.handle = Gdx.files.absolute(filename);
+        for(SplineController s : Overlay.splineManager.getSplines()) {
+            SplineData spline = new SplineData();
+            spline.ID = s.getID();
+            spline.type = s instanceof CubicController ? SplineData.Type.CUBIC_HERMITE : SplineData.Type.QUINTIC_HERMITE;
+            spline.color = Color.rgba8888(s.getColor());
 
-        Overlay.splineManager.writeAll(handle);
+            int count = s.getTransforms().size();
+            for(int x = 0; x < count; x++) {
+                Transform t = s.getTransform(x);
+                Vector2 inches = FieldConstants.getInchVector(new Vector2((float) t.getPosition().getX(), (float) t.getPosition().getY()));
+                float velocity = t instanceof WithVelocity ? (float) ((WithVelocity) t).getVelocity() : 0;
+                spline.points.add(new SplineData.Point(inches.x, inches.y, t.getRotation().getHeading(), velocity));
+            }
+            data.splines.add(spline);
+        }
+
+        for(Waypoint w : Overlay.waypointManager.getWaypoints()) {
+            Vector2 inches = FieldConstants.getInchVector(w.getPosition());
+            data.waypoints.add(new WaypointData(w.getID(), inches.x, inches.y));
+        }
+        return data;
+    }
+
+    private SplineController createController(SplineData spline) {
+        SplineController controller;
+        if(spline.type == SplineData.Type.CUBIC_HERMITE) {
+            TransformWithVelocity[] transforms = new TransformWithVelocity[spline.points.size()];
+            for(int x = 0; x < transforms.length; x++) {
+                SplineData.Point point = spline.points.get(x);
+                transforms[x] = new TransformWithVelocity(toTransform(point), point.velocity);
+            }
+            controller = new CubicController(transforms);
+        } else {
+            Transform[] transforms = new Transform[spline.points.size()];
+            for(int x = 0; x < transforms.length; x++) {
+                transforms[x] = toTransform(spline.points.get(x));
+            }
+            controller = new QuinticController(transforms);
+        }
+        controller.setColor(new Color(spline.color));
+        return controller;
+    }
 
-        Gdx.app.log("FileUtils", "Exported to file!");
+    private static Transform toTransform(SplineData.Point point) {
+        Vector2 position = FieldConstants.getImaginaryVector(new Vector2(point.x, point.y));
+        return new Transform(position.x, position.y, point.heading);
     }
 
     public pgData getData() {
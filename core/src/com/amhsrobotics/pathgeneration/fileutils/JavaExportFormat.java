@@ -0,0 +1,37 @@
+package com.amhsrobotics.pathgeneration.fileutils;
+
+import com.amhsrobotics.pathgeneration.positioning.library.Transform;
+import com.amhsrobotics.pathgeneration.positioning.library.TransformWithVelocity;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Exports every spline as a Java array of its transforms, to be pasted into robot code.
+ */
+public class JavaExportFormat implements ExportFormat {
+
+    @Override
+    public String getExtension() {
+        return "java";
+    }
+
+    @Override
+    public void write(pgData data, Writer out) throws IOException {
+        for(SplineData spline : data.splines) {
+            boolean velocity = spline.type == SplineData.Type.CUBIC_HERMITE;
+
+            out.write(spline.type.getName() + " ID #" + spline.ID + "\n");
+            out.write(velocity ? "new TransformWithVelocity[] {\n" : "new Transform[] {\n");
+            for(SplineData.Point point : spline.points) {
+                Transform transform = new Transform(point.x, point.y, point.heading);
+                if(velocity) {
+                    transform = new TransformWithVelocity(transform, point.velocity);
+                }
+                // the transforms print themselves as the Java that makes them
+                out.write("\t" + transform + ",\n");
+            }
+            out.write("}\n");
+        }
+    }
+}
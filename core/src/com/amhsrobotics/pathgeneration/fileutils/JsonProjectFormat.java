@@ -0,0 +1,57 @@
+package com.amhsrobotics.pathgeneration.fileutils;
+
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Projects as readable JSON, for keeping them in version control where changes can be diffed.
+ */
+public class JsonProjectFormat implements ProjectFormat {
+
+    private final Json json;
+
+    public JsonProjectFormat() {
+        json = new Json(JsonWriter.OutputType.json);
+        json.setUsePrototypes(false);
+        json.setElementType(pgData.class, "splines", SplineData.class);
+        json.setElementType(pgData.class, "waypoints", WaypointData.class);
+        json.setElementType(SplineData.class, "points", SplineData.Point.class);
+    }
+
+    @Override
+    public String getExtension() {
+        return "json";
+    }
+
+    @Override
+    public void write(pgData data, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, "UTF-8");
+        writer.write(json.prettyPrint(data));
+        writer.flush();
+    }
+
+    @Override
+    public pgData read(InputStream in) throws IOException {
+        pgData data;
+        try {
+            data = json.fromJson(pgData.class, new InputStreamReader(in, "UTF-8"));
+        } catch (SerializationException e) {
+            throw new IOException("Not a project file", e);
+        }
+        if(data == null) {
+            throw new IOException("Not a project file");
+        }
+        if(data.version > pgData.VERSION) {
+            throw new IOException("Project was saved by a newer version (" + data.version + ")");
+        }
+        return data;
+    }
+}
@@ -0,0 +1,23 @@
+package com.amhsrobotics.pathgeneration.fileutils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A way of encoding a {@link pgData} in a file.
+ */
+public interface ProjectFormat {
+
+    /**
+     * Returns the extension of files in this format, without the dot.
+     */
+    String getExtension();
+
+    void write(pgData data, OutputStream out) throws IOException;
+
+    /**
+     * Reads a project, failing if it was written by a newer version than this one can read.
+     */
+    pgData read(InputStream in) throws IOException;
+}
@@ -0,0 +1,43 @@
+package com.amhsrobotics.pathgeneration.fileutils;
+
+import java.util.ArrayList;
+
+public class SplineData {
+
+    public enum Type {
+        QUINTIC_HERMITE("Quintic Hermite"), CUBIC_HERMITE("Cubic Hermite");
+
+        private final String name;
+
+        Type(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    Type type;
+    int ID;
+    int color;
+    ArrayList<Point> points = new ArrayList<>();
+
+    public static class Point {
+        float x, y;
+        // kept at the precision of the rotation it comes from, so exports do not round it
+        double heading;
+        // only used by cubic hermite splines
+        float velocity;
+
+        public Point() {
+        }
+
+        Point(float x, float y, double heading, float velocity) {
+            this.x = x;
+            this.y = y;
+            this.heading = heading;
+            this.velocity = velocity;
+        }
+    }
+}
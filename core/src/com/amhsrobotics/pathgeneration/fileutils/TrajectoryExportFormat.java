@@ -0,0 +1,45 @@
+package com.amhsrobotics.pathgeneration.fileutils;
+
+import com.amhsrobotics.pathgeneration.parametrics.ParametricConstants;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.Path;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.PathGenerator;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.Trajectory;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.TrajectoryGenerator;
+import com.amhsrobotics.pathgeneration.positioning.library.Transform;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Exports every spline timed into a trajectory, as rows of comma separated values that robot code can follow state
+ * by state.
+ * <p>
+ * The paths are generated again from the transforms in inches, so the states are in inches and seconds.
+ */
+public class TrajectoryExportFormat implements ExportFormat {
+
+    @Override
+    public String getExtension() {
+        return "traj";
+    }
+
+    @Override
+    public void write(pgData data, Writer out) throws IOException {
+        // made here rather than with the format, since the constants can only be loaded once the field is
+        TrajectoryGenerator generator = new TrajectoryGenerator(ParametricConstants.TRAJECTORY_CONSTRAINTS, ParametricConstants.TRAJECTORY_SPACING);
+        out.write("id,time,distance,x,y,heading,velocity,acceleration,curvature\n");
+        for(SplineData spline : data.splines) {
+            Transform[] transforms = new Transform[spline.points.size()];
+            for(int x = 0; x < transforms.length; x++) {
+                SplineData.Point point = spline.points.get(x);
+                transforms[x] = new Transform(point.x, point.y, point.heading);
+            }
+
+            Trajectory trajectory = generator.generate(new Path(PathGenerator.getInstance().generateQuinticHermiteSplinePath(transforms)));
+            for(int x = 0; x < trajectory.size(); x++) {
+                out.write(spline.ID + "," + trajectory.getTime(x) + "," + trajectory.getDistance(x) + "," + trajectory.getX(x) + "," + trajectory.getY(x) + ","
+                        + trajectory.getHeading(x) + "," + trajectory.getVelocity(x) + "," + trajectory.getAcceleration(x) + "," + trajectory.getCurvature(x) + "\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.amhsrobotics.pathgeneration.fileutils;
+
+public class WaypointData {
+
+    int ID;
+    float x, y;
+
+    public WaypointData() {
+    }
+
+    WaypointData(int ID, float x, float y) {
+        this.ID = ID;
+        this.x = x;
+        this.y = y;
+    }
+}
@@ -1,19 +1,30 @@
 package com.amhsrobotics.pathgeneration.fileutils;
 
-
-import com.amhsrobotics.pathgeneration.parametrics.abstractions.SplineController;
-
 import java.util.ArrayList;
 
+/**
+ * Everything a project saves: the splines, the waypoints and where the zero of the field is. Only the model is kept,
+ * positions are in inches from the zero and headings in degrees.
+ */
 public class pgData {
 
-    ArrayList<SplineController> splines = new ArrayList<>();
+    // 2: headings are saved as doubles
+    public static final int VERSION = 2;
+
+    int version = VERSION;
+    float zeroX, zeroY;
+    ArrayList<SplineData> splines = new ArrayList<>();
+    ArrayList<WaypointData> waypoints = new ArrayList<>();
 
-    public void setSplines(ArrayList<SplineController> splines) {
-        this.splines = splines;
+    public int getVersion() {
+        return version;
     }
 
-    public ArrayList<SplineController> getSplines() {
+    public ArrayList<SplineData> getSplines() {
         return splines;
     }
+
+    public ArrayList<WaypointData> getWaypoints() {
+        return waypoints;
+    }
 }
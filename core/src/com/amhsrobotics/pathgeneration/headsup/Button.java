@@ -1,15 +1,16 @@
 package com.amhsrobotics.pathgeneration.headsup;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
+import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
-import com.badlogic.gdx.Gdx;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputDispatcher;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTargetAdapter;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector3;
 
 public class Button {
 
@@ -25,32 +26,44 @@ public class Button {
 
         this.name = name;
 
-        sprite = new Sprite(new Texture(Gdx.files.internal("frames/box.png")));
-        sprite_highlighted = new Sprite(new Texture(Gdx.files.internal("frames/box_highlighted.png")));
+        sprite = new Sprite(Assets.getInstance().acquireTexture(Assets.BOX));
+        sprite_highlighted = new Sprite(Assets.getInstance().acquireTexture(Assets.BOX_HIGHLIGHTED));
 
-        this.font = new BitmapFont(Gdx.files.internal("fonts/ari2.fnt"));
-        this.font.getData().setScale(0.7f);
+        this.font = Assets.getInstance().acquireFont(Assets.FONT);
 
         layout = new GlyphLayout();
+
+        Overlay.input.register(new InputTargetAdapter() {
+            @Override
+            public boolean hit(float x, float y) {
+                return sprite.getBoundingRectangle().contains(x, y);
+            }
+
+            @Override
+            public void hover(boolean hovered) {
+                Button.this.hovered = hovered;
+            }
+
+            @Override
+            public boolean touchDown(float x, float y, int button) {
+                if(button == Input.Buttons.LEFT) {
+                    ButtonFunctions.process(function);
+                    return true;
+                }
+                return false;
+            }
+        }, InputDispatcher.Layer.HUD, InputDispatcher.PRIORITY_BUTTON);
     }
 
     public void update(SpriteBatch batch, CameraController cam) {
 
-        Vector3 vec = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        cam.getCamera().unproject(vec);
-
         batch.setProjectionMatrix(cam.getCamera().combined);
         batch.begin();
 
-        if(sprite.getBoundingRectangle().contains(vec.x, vec.y)) {
+        if(hovered) {
             sprite_highlighted.draw(batch);
-            hovered = true;
-            if(Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                ButtonFunctions.process(this.function);
-            }
         } else {
             sprite.draw(batch);
-            hovered = false;
         }
 
         String name;
@@ -60,6 +73,8 @@ public class Button {
         } else {
             name = split[0].charAt(0) + "";
         }
+        font.setColor(Color.WHITE);
+        font.getData().setScale(0.7f);
         layout.setText(font, name);
         font.draw(batch, name, (sprite.getX() + (float) sprite.getWidth() / 2) - layout.width / 2, sprite.getY() + 30);
 
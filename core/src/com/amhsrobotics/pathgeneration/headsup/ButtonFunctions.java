@@ -2,17 +2,24 @@ package com.amhsrobotics.pathgeneration.headsup;
 
 import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.fileutils.FileProcessor;
+import com.amhsrobotics.pathgeneration.fileutils.pgData;
 import com.amhsrobotics.pathgeneration.parametrics.CubicController;
 import com.amhsrobotics.pathgeneration.parametrics.QuinticController;
+import com.badlogic.gdx.Gdx;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.io.File;
+import java.io.IOException;
 
 public class ButtonFunctions {
 
-    public static final int QUINTIC_HERMITE = 1, CUBIC_HERMITE = 2, IMPORT = 3, EXPORT = 4, MEASURE = 5, WAYPOINT = 6, FIND_POINT = 7;
+    public static final int QUINTIC_HERMITE = 1, CUBIC_HERMITE = 2, IMPORT = 3, EXPORT = 4, MEASURE = 5, WAYPOINT = 6, FIND_POINT = 7, SAVE = 8;
 
     private static FileProcessor processor = new FileProcessor();
 
+    private static final FileNameExtensionFilter PROJECTS = new FileNameExtensionFilter("Path projects", FileProcessor.BINARY.getExtension(), FileProcessor.JSON.getExtension());
+
     public static void process(int function) {
         if(function == QUINTIC_HERMITE) {
             Overlay.splineManager.addSpline(new QuinticController());
@@ -28,18 +35,92 @@ public class ButtonFunctions {
             new Thread(new Runnable() {
                 @Override
                 public void run() {
-                    JFileChooser chooser = new JFileChooser();
-                    JFrame f = new JFrame();
-                    f.setVisible(true);
-                    f.toFront();
-                    f.setVisible(false);
-                    int res = chooser.showSaveDialog(f);
-                    f.dispose();
-                    if (res == JFileChooser.APPROVE_OPTION) {
-                        processor.export(chooser.getSelectedFile().getAbsolutePath());
+                    File file = choose(true, new FileNameExtensionFilter("Exported splines", FileProcessor.JAVA.getExtension(), FileProcessor.CSV.getExtension(), FileProcessor.TRAJECTORY.getExtension()));
+                    if(file == null) {
+                        return;
+                    }
+                    String path = file.getAbsolutePath();
+                    if(!file.getName().contains(".")) {
+                        path += "." + FileProcessor.JAVA.getExtension();
                     }
+
+                    // the editor is only read on the render thread
+                    final String filename = path;
+                    Gdx.app.postRunnable(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                processor.export(filename);
+                            } catch (IOException e) {
+                                Gdx.app.error("FileUtils", "Failed to export " + filename, e);
+                            }
+                        }
+                    });
+                }
+            }).start();
+        } else if(function == SAVE) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    File file = choose(true, PROJECTS);
+                    if(file == null) {
+                        return;
+                    }
+                    String path = file.getAbsolutePath();
+                    if(!file.getName().contains(".")) {
+                        path += "." + FileProcessor.BINARY.getExtension();
+                    }
+
+                    // the editor is only read on the render thread
+                    final String filename = path;
+                    Gdx.app.postRunnable(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                processor.save(filename);
+                            } catch (IOException e) {
+                                Gdx.app.error("FileUtils", "Failed to save " + filename, e);
+                            }
+                        }
+                    });
+                }
+            }).start();
+        } else if(function == IMPORT) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    File file = choose(false, PROJECTS);
+                    if(file == null) {
+                        return;
+                    }
+
+                    final pgData data;
+                    try {
+                        data = processor.read(file.getAbsolutePath());
+                    } catch (IOException e) {
+                        Gdx.app.error("FileUtils", "Failed to read " + file.getAbsolutePath(), e);
+                        return;
+                    }
+                    Gdx.app.postRunnable(new Runnable() {
+                        @Override
+                        public void run() {
+                            processor.load(data);
+                        }
+                    });
                 }
             }).start();
         }
     }
+
+    private static File choose(boolean save, FileNameExtensionFilter filter) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(filter);
+        JFrame f = new JFrame();
+        f.setVisible(true);
+        f.toFront();
+        f.setVisible(false);
+        int res = save ? chooser.showSaveDialog(f) : chooser.showOpenDialog(f);
+        f.dispose();
+        return res == JFileChooser.APPROVE_OPTION ? chooser.getSelectedFile() : null;
+    }
 }
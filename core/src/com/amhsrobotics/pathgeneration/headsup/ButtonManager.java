@@ -14,6 +14,8 @@ public class ButtonManager {
 
         buttons = new ArrayList<Button>() {{
             add(new Button("Export").setFunction(ButtonFunctions.EXPORT).setCenter(40, Gdx.graphics.getHeight() / 2 + 300));
+            add(new Button("Save Project").setFunction(ButtonFunctions.SAVE).setCenter(40, Gdx.graphics.getHeight() / 2 + 240));
+            add(new Button("Open Project").setFunction(ButtonFunctions.IMPORT).setCenter(40, Gdx.graphics.getHeight() / 2 + 180));
             add(new Button("Quintic Hermite").setFunction(ButtonFunctions.QUINTIC_HERMITE).setCenter(40, Gdx.graphics.getHeight() / 2 - 50));
             add(new Button("Cubic Hermite").setFunction(ButtonFunctions.CUBIC_HERMITE).setCenter(40, Gdx.graphics.getHeight() / 2 + 10));
             add(new Button("Find Point").setFunction(ButtonFunctions.FIND_POINT).setCenter(40, Gdx.graphics.getHeight() / 2 - 200));
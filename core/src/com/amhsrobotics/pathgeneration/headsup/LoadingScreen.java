@@ -0,0 +1,35 @@
+package com.amhsrobotics.pathgeneration.headsup;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+
+public class LoadingScreen {
+
+    private static final float BAR_WIDTH = 400;
+    private static final float BAR_HEIGHT = 12;
+
+    private ShapeRenderer renderer;
+
+    public LoadingScreen() {
+        // only shapes, so there is nothing to load before the first frame
+        this.renderer = new ShapeRenderer();
+    }
+
+    public void render(float progress) {
+        float x = Gdx.graphics.getWidth() / 2f - BAR_WIDTH / 2;
+        float y = Gdx.graphics.getHeight() / 2f - BAR_HEIGHT / 2;
+
+        renderer.getProjectionMatrix().setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        renderer.begin(ShapeRenderer.ShapeType.Filled);
+        renderer.setColor(Color.DARK_GRAY);
+        renderer.rect(x, y, BAR_WIDTH, BAR_HEIGHT);
+        renderer.setColor(Color.TAN);
+        renderer.rect(x, y, BAR_WIDTH * progress, BAR_HEIGHT);
+        renderer.end();
+    }
+
+    public void dispose() {
+        renderer.dispose();
+    }
+}
@@ -1,7 +1,9 @@
 package com.amhsrobotics.pathgeneration.headsup;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
 import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.Trajectory;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
@@ -28,7 +30,7 @@ public class Panel {
         this.renderer = new ShapeRenderer();
         this.renderer.setColor(Color.DARK_GRAY);
 
-        this.font = new BitmapFont(Gdx.files.internal("fonts/ari2.fnt"));
+        this.font = Assets.getInstance().acquireFont(Assets.FONT);
     }
 
     public void render(Batch batch, CameraController cam) {
@@ -102,6 +104,13 @@ public class Panel {
                 layout.setText(font, "ID: " + Overlay.splineManager.getSplineByID(Overlay.splineSelected).getID());
                 font.draw(batch, "ID: " + Overlay.splineManager.getSplineByID(Overlay.splineSelected).getID(), (Gdx.graphics.getWidth() - currentWidth.x + (currentWidth.x / 2)) - layout.width / 2, Gdx.graphics.getHeight() - 110);
 
+                Trajectory trajectory = Overlay.splineManager.getSplineByID(Overlay.splineSelected).getTrajectory();
+                if(trajectory != null) {
+                    String time = "Time: " + String.format("%.2f", trajectory.getTotalTime()) + "s";
+                    layout.setText(font, time);
+                    font.draw(batch, time, (Gdx.graphics.getWidth() - currentWidth.x + (currentWidth.x / 2)) - layout.width / 2, Gdx.graphics.getHeight() - 135);
+                }
+
             } else if(Overlay.waypointSelected > 0) {
                 font.setColor(Color.GOLDENROD);
                 font.getData().setScale(0.7f);
@@ -125,6 +134,10 @@ public class Panel {
         batch.end();
     }
 
+    public boolean isAnimating() {
+        return Math.abs(currentX.x - target.x) > 0.5f;
+    }
+
     public void show() {
         if(hidden) {
             hidden = false;
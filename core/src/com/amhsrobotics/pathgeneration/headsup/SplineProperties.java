@@ -1,14 +1,17 @@
 package com.amhsrobotics.pathgeneration.headsup;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
 import com.amhsrobotics.pathgeneration.Main;
 import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
 import com.amhsrobotics.pathgeneration.cameramechanics.DigitFilter;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputDispatcher;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTarget;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTargetAdapter;
 import com.amhsrobotics.pathgeneration.cameramechanics.ModifiedShapeRenderer;
 import com.amhsrobotics.pathgeneration.field.FieldConstants;
 import com.amhsrobotics.pathgeneration.parametrics.ParametricConstants;
 import com.amhsrobotics.pathgeneration.parametrics.abstractions.SplineController;
-import com.amhsrobotics.pathgeneration.positioning.Handle;
 import com.amhsrobotics.pathgeneration.positioning.library.Rotation;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
@@ -40,28 +43,39 @@ public class SplineProperties {
     private String[] sFields;
     public boolean colorpickerOpen = false;
 
+    private final InputTarget target = new InputTargetAdapter() {
+        @Override
+        public boolean hit(float x, float y) {
+            return Overlay.splineSelected == spline.getID() && !Overlay.panel.hidden && x >= Gdx.graphics.getWidth() - 250;
+        }
+
+        @Override
+        public boolean touchDown(float x, float y, int button) {
+            // presses between the controls fall through, the text fields are on the stage below
+            return button == Input.Buttons.LEFT && clicked(x, y);
+        }
+    };
+
     public SplineProperties(SplineController s, String[] stringFields) {
         this.spline = s;
         this.sFields = stringFields;
         this.fields = new TextField[stringFields.length];
 
-        colorpicker = new Sprite(new Texture(Gdx.files.internal("frames/colorpicker.png")));
-        colorpicker.setScale(0.7f);
-        colorpicker.setCenter(Gdx.graphics.getWidth() - 125, 150);
-
         renderer = new ModifiedShapeRenderer();
-        font = new BitmapFont(Gdx.files.internal("fonts/ari2.fnt"));
+        font = Assets.getInstance().acquireFont(Assets.FONT);
 
-        delete = new Sprite(new Texture(Gdx.files.internal("buttons/delete.png")));
+        delete = new Sprite(Assets.getInstance().acquireTexture(Assets.DELETE));
         delete.setScale(0.5f);
 
         for(int x = 0; x < stringFields.length; x++) {
-            fields[x] = new TextField("", ParametricConstants.SKIN);
+            fields[x] = new TextField("", ParametricConstants.getSkin());
             fields[x].setPosition(Gdx.graphics.getWidth() - 195, Gdx.graphics.getHeight() - 300 - (80 * x));
             fields[x].setTextFieldFilter(new DigitFilter());
 
             Main.stage.addActor(fields[x]);
         }
+
+        Overlay.input.register(target, InputDispatcher.Layer.HUD, InputDispatcher.PRIORITY_PANEL);
     }
 
     public void render(SpriteBatch batch, CameraController cam) {
@@ -83,13 +97,8 @@ public class SplineProperties {
 
             delete.setCenter(Gdx.graphics.getWidth() - 23, Gdx.graphics.getHeight() - 205 + 20);
             delete.draw(batch);
-            if(delete.getBoundingRectangle().contains(Gdx.input.getX(), Gdx.graphics.getHeight() - Gdx.input.getY()) && Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                selectedTransform = 0;
-            }
 
-            if(selectedTransform > 0) {
-                drawFields(batch);
-            }
+            drawFields(batch);
             batch.end();
         } else {
             for(int x = 0; x < spline.getTransforms().size(); x++) {
@@ -99,12 +108,6 @@ public class SplineProperties {
 
                 renderer.setColor(Color.LIGHT_GRAY);
                 renderer.roundedRect(Gdx.graphics.getWidth() - 195, Gdx.graphics.getHeight() - 150 - (55 * (x + 1)), 150, 40, 5);
-
-                if(new Rectangle(Gdx.graphics.getWidth() - 195, Gdx.graphics.getHeight() - 150 - (55 * (x + 1)), 150, 40).contains(Gdx.input.getX(), Gdx.graphics.getHeight() - Gdx.input.getY())) {
-                    if(Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                        selectedTransform = x + 1;
-                    }
-                }
                 renderer.end();
 
                 batch.setProjectionMatrix(cam.getCamera().combined);
@@ -134,42 +137,85 @@ public class SplineProperties {
             font.draw(batch, "Color Picker", ((Gdx.graphics.getWidth() - 195) + 150 / 2) - layout.width / 2, 165);
 
             batch.end();
-
-            if(new Rectangle(Gdx.graphics.getWidth() - 195, 140, 150, 40).contains(Gdx.input.getX(), Gdx.graphics.getHeight() - Gdx.input.getY())) {
-                if(Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                    this.colorpickerOpen = true;
-                }
-            }
         } else {
+            Sprite colorpicker = getColorpicker();
             delete.setCenter(Gdx.graphics.getWidth() - 125, 280);
             batch.setProjectionMatrix(cam.getCamera().combined);
             batch.begin();
             colorpicker.draw(batch);
             delete.draw(batch);
             batch.end();
+        }
+    }
 
-            if(delete.getBoundingRectangle().contains(Gdx.input.getX(), Gdx.graphics.getHeight() - Gdx.input.getY())) {
-                if(Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                    colorpickerOpen = false;
+    private boolean clicked(float x, float y) {
+        if(selectedTransform != 0) {
+            delete.setCenter(Gdx.graphics.getWidth() - 23, Gdx.graphics.getHeight() - 205 + 20);
+            if(delete.getBoundingRectangle().contains(x, y)) {
+                selectedTransform = 0;
+                return true;
+            }
+        } else {
+            for(int t = 0; t < spline.getTransforms().size(); t++) {
+                if(new Rectangle(Gdx.graphics.getWidth() - 195, Gdx.graphics.getHeight() - 150 - (55 * (t + 1)), 150, 40).contains(x, y)) {
+                    selectedTransform = t + 1;
+                    return true;
                 }
             }
+        }
 
-            if(colorpicker.getBoundingRectangle().contains(Gdx.input.getX(), Gdx.graphics.getHeight() - Gdx.input.getY())) {
-                if(Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                    Texture texture = colorpicker.getTexture();
+        if(!colorpickerOpen) {
+            if(new Rectangle(Gdx.graphics.getWidth() - 195, 140, 150, 40).contains(x, y)) {
+                colorpickerOpen = true;
+                return true;
+            }
+        } else {
+            Sprite colorpicker = getColorpicker();
+            delete.setCenter(Gdx.graphics.getWidth() - 125, 280);
+            if(delete.getBoundingRectangle().contains(x, y)) {
+                colorpickerOpen = false;
+                return true;
+            }
 
-                    int spriteLocalX = (int) (Gdx.input.getX() - colorpicker.getX());
-                    int spriteLocalY = (int) ((Gdx.graphics.getHeight() - Gdx.input.getY()) - colorpicker.getY());
+            if(colorpicker.getBoundingRectangle().contains(x, y)) {
+                Texture texture = colorpicker.getTexture();
 
-                    if (!texture.getTextureData().isPrepared()) {
-                        texture.getTextureData().prepare();
-                    }
+                int spriteLocalX = (int) (x - colorpicker.getX());
+                int spriteLocalY = (int) (y - colorpicker.getY());
 
-                    Pixmap pixmap = texture.getTextureData().consumePixmap();
-                    Overlay.splineManager.getSplineByID(Overlay.splineSelected).setColor(new Color(pixmap.getPixel(spriteLocalX, (int) colorpicker.getHeight() - spriteLocalY)));
+                if (!texture.getTextureData().isPrepared()) {
+                    texture.getTextureData().prepare();
                 }
+
+                Pixmap pixmap = texture.getTextureData().consumePixmap();
+                spline.setColor(new Color(pixmap.getPixel(spriteLocalX, (int) colorpicker.getHeight() - spriteLocalY)));
+                return true;
             }
         }
+        return false;
+    }
+
+    // the color picker is rarely opened, so its texture is only loaded the first time it is
+    private Sprite getColorpicker() {
+        if(colorpicker == null) {
+            colorpicker = new Sprite(Assets.getInstance().acquireTexture(Assets.COLORPICKER));
+            colorpicker.setScale(0.7f);
+            colorpicker.setCenter(Gdx.graphics.getWidth() - 125, 150);
+        }
+        return colorpicker;
+    }
+
+    public void dispose() {
+        Overlay.input.unregister(target);
+        if(colorpicker != null) {
+            Assets.getInstance().release(Assets.COLORPICKER);
+        }
+        Assets.getInstance().release(Assets.FONT);
+        Assets.getInstance().release(Assets.DELETE);
+        renderer.dispose();
+        for(TextField field : fields) {
+            field.remove();
+        }
     }
 
     private void drawFields(SpriteBatch batch) {
@@ -217,7 +263,6 @@ public class SplineProperties {
                     }
                 }
                 spline.setHandleToTransform();
-                spline.generate();
             }
 
             fields[x].draw(batch, 1f);
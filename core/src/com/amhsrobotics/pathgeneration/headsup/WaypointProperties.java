@@ -1,8 +1,13 @@
 package com.amhsrobotics.pathgeneration.headsup;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
 import com.amhsrobotics.pathgeneration.Main;
+import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
 import com.amhsrobotics.pathgeneration.cameramechanics.DigitFilter;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputDispatcher;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTarget;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTargetAdapter;
 import com.amhsrobotics.pathgeneration.cameramechanics.ModifiedShapeRenderer;
 import com.amhsrobotics.pathgeneration.field.FieldConstants;
 import com.amhsrobotics.pathgeneration.field.Waypoint;
@@ -31,22 +36,41 @@ public class WaypointProperties {
 
     private Vector2 temp;
 
+    private final InputTarget target = new InputTargetAdapter() {
+        @Override
+        public boolean hit(float x, float y) {
+            return Overlay.waypointSelected == w.getID() && Overlay.splineSelected == 0 && !Overlay.panel.hidden && x >= Gdx.graphics.getWidth() - 250;
+        }
+
+        @Override
+        public boolean touchDown(float x, float y, int button) {
+            if(button == Input.Buttons.LEFT && !FieldConstants.REAL_ZERO.equals(w.getPosition())
+                    && new Rectangle(Gdx.graphics.getWidth() - 195, Gdx.graphics.getHeight() - 500, 150, 40).contains(x, y)) {
+                FieldConstants.REAL_ZERO.set(w.getPosition());
+                return true;
+            }
+            return false;
+        }
+    };
+
     public WaypointProperties(Waypoint w) {
         this.w = w;
 
-        font = new BitmapFont(Gdx.files.internal("fonts/ari2.fnt"));
+        font = Assets.getInstance().acquireFont(Assets.FONT);
         renderer = new ModifiedShapeRenderer();
         renderer.setColor(Color.TAN);
 
         entryboxes = new TextField[2];
 
         for(int x = 0; x < entryboxes.length; x++) {
-            entryboxes[x] = new TextField("", ParametricConstants.SKIN);
+            entryboxes[x] = new TextField("", ParametricConstants.getSkin());
             entryboxes[x].setPosition(Gdx.graphics.getWidth() - 195, Gdx.graphics.getHeight() - 300 - (80 * x));
             entryboxes[x].setTextFieldFilter(new DigitFilter());
 
             Main.stage.addActor(entryboxes[x]);
         }
+
+        Overlay.input.register(target, InputDispatcher.Layer.HUD, InputDispatcher.PRIORITY_PANEL);
     }
 
     public void render(SpriteBatch batch, CameraController cam) {
@@ -72,12 +96,15 @@ public class WaypointProperties {
             layout.setText(font, "Set To Zero");
             font.draw(batch, "Set To Zero", ((Gdx.graphics.getWidth() - 195) + 150 / 2) - layout.width / 2, Gdx.graphics.getHeight() - 474);
             batch.end();
+        }
+    }
 
-            if(new Rectangle(Gdx.graphics.getWidth() - 195, Gdx.graphics.getHeight() - 500, 150, 40).contains(Gdx.input.getX(), Gdx.graphics.getHeight() - Gdx.input.getY())) {
-                if(Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                    FieldConstants.REAL_ZERO.set(w.getPosition());
-                }
-            }
+    public void dispose() {
+        Overlay.input.unregister(target);
+        Assets.getInstance().release(Assets.FONT);
+        renderer.dispose();
+        for(TextField field : entryboxes) {
+            field.remove();
         }
     }
 
@@ -0,0 +1,195 @@
+package com.amhsrobotics.pathgeneration.parametrics;
+
+import com.amhsrobotics.pathgeneration.parametrics.libraries.GeneratedPath;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.GenerationQuality;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.PathBuilder;
+import com.amhsrobotics.pathgeneration.positioning.library.Transform;
+import com.badlogic.gdx.Gdx;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Generates splines on a small pool of worker threads so the render thread never waits on a regeneration.
+ * <p>
+ * Every spline owns a {@link Job}. Requests to a job only keep the newest waypoints, so a request made while an older
+ * one is still being built supersedes any request that has not started yet instead of queueing behind it. Finished
+ * {@link GeneratedPath}s are published atomically and the render thread always draws the latest one.
+ */
+public class GenerationService {
+    private static GenerationService instance = new GenerationService();
+
+    public static GenerationService getInstance() {
+        return instance;
+    }
+
+    private final ExecutorService executor;
+    private final List<PublishListener> listeners = new CopyOnWriteArrayList<>();
+
+    private GenerationService() {
+        int threads = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+        executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private int count = 0;
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "path-generation-" + count++);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public Job createJob(PathBuilder builder) {
+        return new Job(builder);
+    }
+
+    /**
+     * Adds a listener that is told whenever a job publishes a new generation. Listeners are called on the thread that
+     * built the generation, which usually is a worker thread.
+     *
+     * @param listener the listener to add.
+     */
+    public void addPublishListener(PublishListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removePublishListener(PublishListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Copies the values of <code>transforms</code>, so that the copy can be built on a worker thread while the
+     * originals keep being edited.
+     *
+     * @param transforms the transforms to copy
+     * @return the copied transforms.
+     */
+    public static Transform[] snapshot(List<? extends Transform> transforms) {
+        Transform[] copy = new Transform[transforms.size()];
+        for(int x = 0; x < copy.length; x++) {
+            Transform t = transforms.get(x);
+            copy[x] = new Transform(t.getPosition().getX(), t.getPosition().getY(), t.getRotation().getHeading());
+        }
+        return copy;
+    }
+
+    public class Job {
+        private final PathBuilder builder;
+        private final AtomicReference<Request> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicReference<GeneratedPath> latest = new AtomicReference<>();
+
+        private Job(PathBuilder builder) {
+            this.builder = builder;
+        }
+
+        /**
+         * Builds the waypoints on a worker thread, replacing any request that has not started yet.
+         *
+         * @param waypoints a snapshot of the waypoints, see {@link GenerationService#snapshot(List)}.
+         * @param quality   the quality to build at.
+         */
+        public void request(Transform[] waypoints, GenerationQuality quality) {
+            pending.set(new Request(waypoints, quality));
+            if(scheduled.compareAndSet(false, true)) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        drain();
+                    }
+                });
+            }
+        }
+
+        /**
+         * Returns the latest finished generation, or <code>null</code> if nothing has been built yet.
+         *
+         * @return the latest finished generation.
+         */
+        public GeneratedPath getLatest() {
+            return latest.get();
+        }
+
+        /**
+         * Returns the latest finished generation, waiting for the first one if nothing has been built yet.
+         *
+         * @return the latest finished generation.
+         * @throws IllegalStateException if nothing has been requested, or the requested generation failed.
+         */
+        public GeneratedPath awaitLatest() {
+            GeneratedPath generated = latest.get();
+            if(generated != null) {
+                return generated;
+            }
+
+            synchronized(this) {
+                while((generated = latest.get()) == null) {
+                    if(!scheduled.get()) {
+                        throw new IllegalStateException("Nothing is being generated");
+                    }
+                    try {
+                        // a build that fails does not notify, so check on the worker every now and then
+                        wait(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for a generation", e);
+                    }
+                }
+            }
+            return generated;
+        }
+
+        private void drain() {
+            while(true) {
+                Request request = pending.getAndSet(null);
+                if(request != null) {
+                    try {
+                        build(request);
+                    } catch (RuntimeException e) {
+                        Gdx.app.error("GenerationService", "Failed to generate spline", e);
+                    }
+                    continue;
+                }
+
+                scheduled.set(false);
+                // a request may have arrived after the last check but before the flag was cleared
+                if(pending.get() == null || !scheduled.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        private synchronized void build(Request request) {
+            GeneratedPath generated = builder.build(request.waypoints, request.quality);
+            latest.set(generated);
+            notifyAll();
+            for(PublishListener listener : listeners) {
+                listener.published(generated);
+            }
+        }
+    }
+
+    public interface PublishListener {
+        void published(GeneratedPath generated);
+    }
+
+    private static class Request {
+        private final Transform[] waypoints;
+        private final GenerationQuality quality;
+
+        private Request(Transform[] waypoints, GenerationQuality quality) {
+            this.waypoints = waypoints;
+            this.quality = quality;
+        }
+    }
+}
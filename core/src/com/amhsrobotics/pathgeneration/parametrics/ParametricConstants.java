@@ -1,19 +1,28 @@
 package com.amhsrobotics.pathgeneration.parametrics;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
 import com.amhsrobotics.pathgeneration.field.FieldConstants;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.TrajectoryConstraints;
 import com.amhsrobotics.pathgeneration.positioning.library.Transform;
 import com.amhsrobotics.pathgeneration.positioning.library.TransformWithVelocity;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 
 public class ParametricConstants {
 
     public static final int LINE_WIDTH = 5;
+    public static final int SELECT_DISTANCE = LINE_WIDTH * 2;
+    public static final float FLATTEN_TOLERANCE = 0.25f; // inches
+    public static final int FLATTEN_MAX_DEPTH = 12;
+    public static final float PREVIEW_FLATTEN_TOLERANCE = 1f; // inches
+    public static final int PREVIEW_FLATTEN_MAX_DEPTH = 6;
+    public static final int PREVIEW_IDLE_FRAMES = 10;
+    public static final int LOD_LEVELS = 5;
+    public static final float LOD_SCREEN_ERROR = 1f; // screen pixels
+    public static final TrajectoryConstraints TRAJECTORY_CONSTRAINTS = new TrajectoryConstraints(120, 100, 80); // inches per second
+    public static final float TRAJECTORY_SPACING = 1f; // inches
 
-    public static final TextureAtlas ATLAS = new TextureAtlas(Gdx.files.internal("skin/Particle Park UI.atlas"));
-    public static final Skin SKIN = new Skin(Gdx.files.internal("skin/Particle Park UI.json"), ATLAS);
+    private static Skin skin;
 
     public static TransformWithVelocity[] STARTING_POINTS_CUBIC = new TransformWithVelocity[] {
             new TransformWithVelocity(new Transform(FieldConstants.getImaginaryVector(new Vector2(0f, -67.25f)).x, FieldConstants.getImaginaryVector(new Vector2(0f, -67.25f)).y, 180)),
@@ -25,4 +34,14 @@ public class ParametricConstants {
             new Transform(FieldConstants.getImaginaryVector(new Vector2(-86.63f, -134.155f)).x, FieldConstants.getImaginaryVector(new Vector2(-86.63f, -134.155f)).y, 180),
             new Transform(FieldConstants.getImaginaryVector(new Vector2(-259.49f, -134.155f)).x, FieldConstants.getImaginaryVector(new Vector2(-259.49f, -134.155f)).y, 180)
     };
+
+    /**
+     * Returns the UI skin, loading it on first use instead of when the class is initialized.
+     */
+    public static Skin getSkin() {
+        if(skin == null) {
+            skin = Assets.getInstance().acquireSkin(Assets.SKIN, Assets.SKIN_ATLAS);
+        }
+        return skin;
+    }
 }
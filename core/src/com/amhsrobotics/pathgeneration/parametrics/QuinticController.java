@@ -1,24 +1,26 @@
 package com.amhsrobotics.pathgeneration.parametrics;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
 import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputDispatcher;
+import com.amhsrobotics.pathgeneration.cameramechanics.SpriteTarget;
 import com.amhsrobotics.pathgeneration.field.FieldConstants;
 import com.amhsrobotics.pathgeneration.headsup.SplineProperties;
 import com.amhsrobotics.pathgeneration.parametrics.abstractions.SplineController;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.AdaptiveFlattener;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.GenerationQuality;
 import com.amhsrobotics.pathgeneration.parametrics.libraries.Path;
-import com.amhsrobotics.pathgeneration.parametrics.libraries.PathGenerator;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.PathBuilder;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.Trajectory;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.TrajectoryGenerator;
 import com.amhsrobotics.pathgeneration.positioning.Handle;
 import com.amhsrobotics.pathgeneration.positioning.library.Transform;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.math.Vector3;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -28,31 +30,55 @@ public class QuinticController extends SplineController {
     private int ID;
 
     private ArrayList<Transform> transforms;
-    private ArrayList<Vector2> currentSpline;
+    private GenerationService.Job generation;
+    private SplineMesh mesh = new SplineMesh();
     private ArrayList<Handle> splineHandles;
     private Sprite[] addSegments = new Sprite[2];
     private ArrayList<Sprite> removeSegments;
+    private SpriteTarget[] addSegmentTargets = new SpriteTarget[2];
+    private ArrayList<SpriteTarget> removeSegmentTargets = new ArrayList<>();
 
-    private Path path;
     private SplineProperties properties;
+    private Trajectory trajectory;
 
     public String[] fields = new String[] {"X Position", "Y Position", "Heading"};
     private Color color = Color.SALMON;
 
     public QuinticController(Transform[] transforms) {
         this.transforms = new ArrayList<>();
-        this.currentSpline = new ArrayList<>();
+        this.generation = GenerationService.getInstance().createJob(new PathBuilder(
+                new AdaptiveFlattener(FieldConstants.getPixelDistance(ParametricConstants.PREVIEW_FLATTEN_TOLERANCE), ParametricConstants.PREVIEW_FLATTEN_MAX_DEPTH),
+                new AdaptiveFlattener(FieldConstants.getPixelDistance(ParametricConstants.FLATTEN_TOLERANCE), ParametricConstants.FLATTEN_MAX_DEPTH),
+                ParametricConstants.LOD_LEVELS,
+                new TrajectoryGenerator(ParametricConstants.TRAJECTORY_CONSTRAINTS.scale(FieldConstants.getPixelDistance(1)), FieldConstants.getPixelDistance(ParametricConstants.TRAJECTORY_SPACING))));
         this.splineHandles = new ArrayList<>();
         this.removeSegments = new ArrayList<>();
 
         this.transforms.addAll(Arrays.asList(transforms));
-        addSegments[0] = new Sprite(new Texture("buttons/add-segment.png"));
-        addSegments[1] = new Sprite(new Texture("buttons/add-segment.png"));
+        addSegments[0] = new Sprite(Assets.getInstance().acquireTexture(Assets.ADD_SEGMENT));
+        addSegments[1] = new Sprite(Assets.getInstance().acquireTexture(Assets.ADD_SEGMENT));
+        for(int x = 0; x < addSegments.length; x++) {
+            final boolean start = x == 0;
+            addSegmentTargets[x] = new SpriteTarget(addSegments[x]) {
+                @Override
+                protected boolean isActive() {
+                    return isEditable();
+                }
 
-        properties = new SplineProperties(this, fields);
+                @Override
+                protected void clicked() {
+                    if(start) {
+                        addSegment(0, new Transform(getPath().getStartWaypoint().getPosition().getX() + 100, getPath().getStartWaypoint().getPosition().getY(), 180));
+                    } else {
+                        addSegment(QuinticController.this.transforms.size(), new Transform(getPath().getEndWaypoint().getPosition().getX() - 100, getPath().getEndWaypoint().getPosition().getY(), 180));
+                    }
+                }
+            };
+            Overlay.input.register(addSegmentTargets[x], InputDispatcher.Layer.WORLD, InputDispatcher.PRIORITY_SEGMENT_BUTTON, addSegmentTargets[x].getBounds());
+        }
 
         refreshHandles();
-        generate();
+        regenerateIfDirty();
     }
 
     public QuinticController() {
@@ -60,41 +86,65 @@ public class QuinticController extends SplineController {
     }
 
     private void refreshHandles() {
+        releaseHandles();
         splineHandles.clear();
         removeSegments.clear();
         for(Transform t : this.transforms) {
             splineHandles.add(new Handle(t, this));
-
-            Sprite s = new Sprite(new Texture("buttons/remove-segment.png"));
-            s.setCenter((float) t.getPosition().getX() + 30, (float) t.getPosition().getY() - 8);
-            removeSegments.add(s);
+            addRemoveSegment(t);
         }
     }
 
-    @Override
-    public void generate() {
+    private void addRemoveSegment(Transform t) {
+        Sprite s = new Sprite(Assets.getInstance().acquireTexture(Assets.REMOVE_SEGMENT));
+        s.setCenter((float) t.getPosition().getX() + 30, (float) t.getPosition().getY() - 8);
+        removeSegments.add(s);
 
-        this.path = new Path(PathGenerator.getInstance().generateQuinticHermiteSplinePath(this.transforms.toArray(new Transform[0])));
+        final int index = removeSegments.size() - 1;
+        SpriteTarget target = new SpriteTarget(s) {
+            @Override
+            protected boolean isActive() {
+                return isEditable() && transforms.size() != 2;
+            }
 
-        currentSpline.clear();
-        for(double a = 0; a < 1.0; a += 0.0001) {
-            Vector2 generatedPoint = new Vector2((float) this.path.getPosition(a).getX(), (float) this.path.getPosition(a).getY());
-            currentSpline.add(generatedPoint);
+            @Override
+            protected void clicked() {
+                removeSegment(index);
+            }
+        };
+        removeSegmentTargets.add(target);
+        Overlay.input.register(target, InputDispatcher.Layer.WORLD, InputDispatcher.PRIORITY_SEGMENT_BUTTON, target.getBounds());
+    }
+
+    private boolean isEditable() {
+        return Overlay.splineSelected == getID() && !Overlay.isToolActive();
+    }
+
+    private void releaseHandles() {
+        for(Handle h : splineHandles) {
+            h.dispose();
+        }
+        for(int x = 0; x < removeSegments.size(); x++) {
+            Assets.getInstance().release(Assets.REMOVE_SEGMENT);
+        }
+        for(SpriteTarget target : removeSegmentTargets) {
+            Overlay.input.unregister(target);
         }
+        removeSegmentTargets.clear();
     }
 
     @Override
-    public void update(SpriteBatch batch, ShapeRenderer renderer, CameraController cam) {
+    public void generate(GenerationQuality quality) {
+        // the first generation is built on a worker too, getPath() waits for it if it is needed before it is done
+        generation.request(GenerationService.snapshot(this.transforms), quality);
+    }
 
-        renderer.setProjectionMatrix(cam.getCamera().combined);
-        renderer.begin(ShapeRenderer.ShapeType.Filled);
+    @Override
+    public void update(SpriteBatch batch, ShapeRenderer renderer, CameraController cam) {
 
         // draw spline
-        renderer.setColor(color);
-        for(Vector2 vec : currentSpline) {
-            renderer.circle(vec.x, vec.y, ParametricConstants.LINE_WIDTH);
-        }
-        renderer.end();
+        mesh.update(generation.awaitLatest(), cam);
+        mesh.render(cam.getCamera().combined, color);
 
         batch.setProjectionMatrix(cam.getCamera().combined);
         batch.begin();
@@ -107,27 +157,12 @@ public class QuinticController extends SplineController {
 
     private void drawHandles(SpriteBatch batch, CameraController cam) {
 
-        Vector3 unproj = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        cam.getCamera().unproject(unproj);
-
         for(Handle h : splineHandles) {
             h.render(batch, cam);
         }
 
-        for(int x = 0; x < addSegments.length; x++) {
-            addSegments[x].draw(batch);
-
-            if(addSegments[x].getBoundingRectangle().contains(unproj.x, unproj.y)  && Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                Transform t;
-                if(x == 0) {
-                    t = new Transform(path.getStartWaypoint().getPosition().getX() + 100, path.getStartWaypoint().getPosition().getY(), 180);
-                    addSegment(0, t);
-                } else {
-                    t = new Transform(path.getEndWaypoint().getPosition().getX() - 100, path.getEndWaypoint().getPosition().getY(), 180);
-                    addSegment(this.transforms.size(), t);
-                }
-                generate();
-            }
+        for(Sprite s : addSegments) {
+            s.draw(batch);
         }
 
         for(int x = 0; x < this.transforms.size(); x++) {
@@ -139,18 +174,17 @@ public class QuinticController extends SplineController {
                 } else {
                     removeSegments.get(x).setCenter((float) this.transforms.get(x).getPosition().getX(), (float) this.transforms.get(x).getPosition().getY() + 30);
                 }
+                Overlay.input.setBounds(removeSegmentTargets.get(x), removeSegments.get(x).getBoundingRectangle());
                 removeSegments.get(x).draw(batch);
-                if(removeSegments.get(x).getBoundingRectangle().contains(unproj.x, unproj.y) && Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                    if(this.transforms.size() != 2) {
-                        this.removeSegment(x);
-                    }
-                }
             }
 
         }
 
-        addSegments[0].setCenter((float) path.getStartWaypoint().getPosition().getX() + 30, (float) path.getStartWaypoint().getPosition().getY() + 8);
-        addSegments[1].setCenter((float) path.getEndWaypoint().getPosition().getX() - 30, (float) path.getEndWaypoint().getPosition().getY() + 8);
+        addSegments[0].setCenter((float) getPath().getStartWaypoint().getPosition().getX() + 30, (float) getPath().getStartWaypoint().getPosition().getY() + 8);
+        addSegments[1].setCenter((float) getPath().getEndWaypoint().getPosition().getX() - 30, (float) getPath().getEndWaypoint().getPosition().getY() + 8);
+        for(SpriteTarget target : addSegmentTargets) {
+            Overlay.input.setBounds(target, target.getBounds());
+        }
 
     }
 
@@ -176,24 +210,36 @@ public class QuinticController extends SplineController {
     @Override
     public void removeSegment(int index) {
         this.transforms.remove(index);
-        this.splineHandles.remove(index);
         refreshHandles();
-        generate();
+        markDirty();
     }
 
     @Override
     public void addSegment(int index, Transform t) {
         this.transforms.add(index, t);
         this.splineHandles.add(new Handle(t, this));
-
-        Sprite s = new Sprite(new Texture("buttons/remove-segment.png"));
-        s.setCenter((float) t.getPosition().getX() + 30, (float) t.getPosition().getY() - 8);
-        removeSegments.add(s);
+        addRemoveSegment(t);
+        markDirty();
     }
 
     @Override
     public Vector2 getCenter() {
-        return new Vector2((float) this.path.getPosition(0.5).getX(), (float) this.path.getPosition(0.5).getY());
+        return new Vector2((float) getPath().getPosition(0.5).getX(), (float) getPath().getPosition(0.5).getY());
+    }
+
+    @Override
+    public Path getPath() {
+        return generation.awaitLatest().getPath();
+    }
+
+    @Override
+    public Trajectory getTrajectory() {
+        // previews are not timed, so the last final trajectory is kept while a handle is dragged
+        Trajectory latest = generation.awaitLatest().getTrajectory();
+        if(latest != null) {
+            trajectory = latest;
+        }
+        return trajectory;
     }
 
     @Override
@@ -205,7 +251,15 @@ public class QuinticController extends SplineController {
 
     @Override
     public void drawProperties(SpriteBatch batch, CameraController cam) {
-        this.properties.render(batch, cam);
+        getProperties().render(batch, cam);
+    }
+
+    // the properties add text fields to the stage, so they are only made once the spline is first selected
+    private SplineProperties getProperties() {
+        if(properties == null) {
+            properties = new SplineProperties(this, fields);
+        }
+        return properties;
     }
 
     @Override
@@ -226,27 +280,28 @@ public class QuinticController extends SplineController {
     }
 
     @Override
-    public void writeTo(FileHandle file) {
-
-        Transform[] transforms = new Transform[this.transforms.size()];
-        for(int x = 0; x < this.transforms.size(); x++) {
-            Gdx.app.log("Writing:", "Transform " + (x + 1));
-            Vector2 temp = FieldConstants.getInchVector(new Vector2(
-                    (float) this.transforms.get(x).getPosition().getX(),
-                    (float) this.transforms.get(x).getPosition().getY()));
-            transforms[x] = new Transform(temp.x, temp.y, this.transforms.get(x).getRotation().getHeading());
+    public void dispose() {
+        mesh.dispose();
+        releaseHandles();
+        splineHandles.clear();
+        removeSegments.clear();
+        for(SpriteTarget target : addSegmentTargets) {
+            Overlay.input.unregister(target);
         }
-
-        file.writeString("Quintic Hermite ID #" + this.ID + "\n", true);
-        file.writeString("new Transform[] {\n", true);
-        for(int y = 0; y < this.transforms.size(); y++) {
-            file.writeString("\t" + transforms[y].toString() + ",\n", true);
+        Assets.getInstance().release(Assets.ADD_SEGMENT);
+        Assets.getInstance().release(Assets.ADD_SEGMENT);
+        if(properties != null) {
+            properties.dispose();
         }
-        file.writeString("}", true);
     }
 
     @Override
     public void setColor(Color color) {
         this.color = color;
     }
+
+    @Override
+    public Color getColor() {
+        return color;
+    }
 }
@@ -1,85 +1,143 @@
 package com.amhsrobotics.pathgeneration.parametrics;
 
+import com.amhsrobotics.pathgeneration.EntityRegistry;
 import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputDispatcher;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTargetAdapter;
 import com.amhsrobotics.pathgeneration.parametrics.abstractions.SplineController;
-import com.amhsrobotics.pathgeneration.positioning.Handle;
 import com.amhsrobotics.pathgeneration.positioning.SplineSelector;
-import com.badlogic.gdx.Gdx;
+import com.amhsrobotics.pathgeneration.positioning.library.Position;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.InputProcessor;
-import com.badlogic.gdx.files.FileHandle;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Vector3;
-
-import java.util.ArrayList;
 
 public class SplineManager {
 
-    private ArrayList<SplineController> splines;
-    private ArrayList<SplineSelector> selectSpline;
+    private EntityRegistry<SplineController> splines;
+    private EntityRegistry<SplineSelector> selectSpline;
 
     private ShapeRenderer renderer;
 
     private int ID = 1;
 
     public SplineManager() {
-        this.splines = new ArrayList<>();
-        selectSpline = new ArrayList<>();
+        this.splines = new EntityRegistry<>();
+        selectSpline = new EntityRegistry<>();
 
         renderer = new ShapeRenderer();
+
+        // clicking near the line of a spline that is not selected selects it
+        Overlay.input.register(new InputTargetAdapter() {
+            private SplineController hit;
+
+            @Override
+            public boolean hit(float x, float y) {
+                Position mouse = new Position(x, y);
+                for(SplineController s : splines) {
+                    if(s.getID() != Overlay.splineSelected && s.getPath().isWithinDistance(mouse, ParametricConstants.SELECT_DISTANCE)) {
+                        hit = s;
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public boolean touchDown(float x, float y, int button) {
+                if(button == Input.Buttons.LEFT) {
+                    select(hit);
+                    return true;
+                }
+                return false;
+            }
+        }, InputDispatcher.Layer.WORLD, InputDispatcher.PRIORITY_SPLINE);
     }
 
     public void drawAll(SpriteBatch batch, CameraController cam) {
 
-        Vector3 unproj = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        cam.getCamera().unproject(unproj);
-
         for(SplineController s : splines) {
+            s.regenerateIfDirty();
             s.update(batch, renderer, cam);
         }
 
         batch.begin();
         for(SplineSelector selector : selectSpline) {
-            if(selector.getSpline().getID() != Overlay.splineSelected) {
+            if(selector.getSpline().getID() != Overlay.splineSelected && cam.isVisible(selector.getBoundingRectangle())) {
                 selector.draw(batch);
             }
-            if(selector.getBoundingRectangle().contains(unproj.x, unproj.y) && Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                Overlay.splineSelected = 0;
-                Overlay.waypointSelected = 0;
-                Overlay.splineSelected = selector.getSpline().getID();
-                getSplineByID(Overlay.splineSelected).resetHandles();
-            }
         }
         batch.end();
     }
 
+    public void select(SplineController s) {
+        Overlay.splineSelected = 0;
+        Overlay.waypointSelected = 0;
+        Overlay.splineSelected = s.getID();
+        s.resetHandles();
+    }
+
     public void addSpline(SplineController s) {
+        addSpline(s, ID);
+    }
+
+    /**
+     * Adds a spline under an ID that is not in use yet, like the one it was saved with.
+     */
+    public void addSpline(SplineController s, int ID) {
         s.setID(ID);
-        splines.add(s);
-        ID += 1;
+        splines.add(ID, s);
+        selectSpline.add(ID, new SplineSelector(s));
+        this.ID = Math.max(this.ID, ID + 1);
 
         Overlay.splineSelected = 0;
+    }
 
-        selectSpline.add(new SplineSelector(s));
-        s.generate();
+    /**
+     * Removes the spline with the ID and disposes it, doing nothing if there is none.
+     */
+    public void removeSpline(int ID) {
+        SplineController s = splines.remove(ID);
+        if(s == null) {
+            return;
+        }
+        if(Overlay.splineSelected == ID) {
+            Overlay.splineSelected = 0;
+        }
+        selectSpline.remove(ID).dispose();
+        s.dispose();
     }
 
-    public SplineController getSplineByID(int ID) {
+    /**
+     * Removes and disposes every spline.
+     */
+    public void clear() {
         for(SplineController s : splines) {
-            if(s.getID() == ID) {
-                return s;
-            }
+            s.dispose();
         }
-        return null;
+        for(SplineSelector selector : selectSpline) {
+            selector.dispose();
+        }
+        splines.clear();
+        selectSpline.clear();
+        Overlay.splineSelected = 0;
     }
 
-    public void writeAll(FileHandle handle) {
+    public SplineController getSplineByID(int ID) {
+        return splines.get(ID);
+    }
+
+    public Iterable<SplineController> getSplines() {
+        return splines;
+    }
+
+    public void dispose() {
         for(SplineController s : splines) {
-            s.writeTo(handle);
+            s.dispose();
+        }
+        for(SplineSelector selector : selectSpline) {
+            selector.dispose();
         }
+        renderer.dispose();
     }
 }
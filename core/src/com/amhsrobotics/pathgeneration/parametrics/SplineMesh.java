@@ -0,0 +1,124 @@
+package com.amhsrobotics.pathgeneration.parametrics;
+
+import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.GeneratedPath;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.PolylineStrip;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Draws the line of a spline from a {@link Mesh} that is only uploaded again when the spline is regenerated.
+ * <p>
+ * The samples of a {@link GeneratedPath} are turned into a single {@link PolylineStrip}, so drawing the spline is one
+ * draw call no matter how many samples it has. The level of detail is picked from the zoom of the camera, and the
+ * mesh is skipped entirely when the spline is outside of the view.
+ */
+public class SplineMesh implements Disposable {
+
+    private static final String VERTEX_SHADER =
+            "attribute vec2 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+            "uniform mat4 u_projTrans;\n" +
+            "void main() {\n" +
+            "    gl_Position = u_projTrans * vec4(" + ShaderProgram.POSITION_ATTRIBUTE + ", 0.0, 1.0);\n" +
+            "}\n";
+    private static final String FRAGMENT_SHADER =
+            "#ifdef GL_ES\n" +
+            "precision mediump float;\n" +
+            "#endif\n" +
+            "uniform vec4 u_color;\n" +
+            "void main() {\n" +
+            "    gl_FragColor = u_color;\n" +
+            "}\n";
+
+    private static ShaderProgram shader;
+
+    private final PolylineStrip strip = new PolylineStrip();
+    private Mesh mesh;
+    private GeneratedPath uploaded;
+    private int uploadedLevel;
+    private boolean visible;
+
+    /**
+     * Rebuilds and uploads the mesh if <code>generated</code> is not the generation that was last uploaded, or the zoom
+     * of <code>cam</code> calls for another level of detail.
+     *
+     * @param generated the latest generation of the spline
+     * @param cam       the camera the spline is drawn with.
+     */
+    public void update(GeneratedPath generated, CameraController cam) {
+        float margin = ParametricConstants.LINE_WIDTH * 2;
+        visible = cam.isVisible(generated.getMinX() - margin, generated.getMinY() - margin,
+                generated.getMaxX() - generated.getMinX() + margin * 2, generated.getMaxY() - generated.getMinY() + margin * 2);
+        if(!visible) {
+            return;
+        }
+
+        int level = generated.getLevel(cam.getCamera().zoom * ParametricConstants.LOD_SCREEN_ERROR);
+        if(generated == uploaded && level == uploadedLevel) {
+            return;
+        }
+        uploaded = generated;
+        uploadedLevel = level;
+
+        strip.build(generated.getSamples(level), ParametricConstants.LINE_WIDTH * 2);
+        int vertexCount = strip.getVertexCount();
+        if(mesh == null || mesh.getMaxVertices() < vertexCount) {
+            if(mesh != null) {
+                mesh.dispose();
+            }
+            mesh = new Mesh(false, Math.max(vertexCount + (vertexCount >> 1), 64), 0,
+                    new VertexAttribute(VertexAttributes.Usage.Position, PolylineStrip.FLOATS_PER_VERTEX, ShaderProgram.POSITION_ATTRIBUTE));
+        }
+        mesh.setVertices(strip.getVertices(), 0, vertexCount * PolylineStrip.FLOATS_PER_VERTEX);
+    }
+
+    public void render(Matrix4 projection, Color color) {
+        if(!visible || mesh == null || strip.getVertexCount() == 0) {
+            return;
+        }
+        ShaderProgram shader = getShader();
+        shader.begin();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformf("u_color", color);
+        mesh.render(shader, GL20.GL_TRIANGLE_STRIP, 0, strip.getVertexCount());
+        shader.end();
+    }
+
+    @Override
+    public void dispose() {
+        if(mesh != null) {
+            mesh.dispose();
+            mesh = null;
+        }
+        uploaded = null;
+    }
+
+    /**
+     * Disposes the shader shared by every {@link SplineMesh}.
+     */
+    public static void disposeShader() {
+        if(shader != null) {
+            shader.dispose();
+            shader = null;
+        }
+    }
+
+    private static ShaderProgram getShader() {
+        if(shader == null) {
+            shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+            if(!shader.isCompiled()) {
+                Gdx.app.error("SplineMesh", shader.getLog());
+                throw new GdxRuntimeException("Failed to compile the spline shader");
+            }
+        }
+        return shader;
+    }
+}
@@ -74,4 +74,66 @@ public abstract class Parametric {
      * @return the second derivative {@link Position} at the parameter <code>t</code>.
      */
     public abstract Position getSecondDerivative(double t);
+
+    /**
+     * Writes the x and y value of the {@link Position} along the {@link Parametric} at <code>t</code> into
+     * <code>out</code> without allocating a new {@link Position}.
+     * <p>
+     * The default implementation delegates to {@link #getPosition(double)}. Implementations that are evaluated in
+     * sampling loops should override it so that no garbage is produced per sample.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value into at index 0 and the y value into at index 1.
+     */
+    public void getPosition(double t, double[] out) {
+        Position position = getPosition(t);
+        out[0] = position.getX();
+        out[1] = position.getY();
+    }
+
+    /**
+     * Writes the x and y value of the first derivative of the {@link Parametric} at <code>t</code> into
+     * <code>out</code> without allocating a new {@link Position}.
+     * <p>
+     * The default implementation delegates to {@link #getFirstDerivative(double)}.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value into at index 0 and the y value into at index 1.
+     */
+    public void getFirstDerivative(double t, double[] out) {
+        Position firstDerivative = getFirstDerivative(t);
+        out[0] = firstDerivative.getX();
+        out[1] = firstDerivative.getY();
+    }
+
+    /**
+     * Writes the x and y value of the second derivative of the {@link Parametric} at <code>t</code> into
+     * <code>out</code> without allocating a new {@link Position}.
+     * <p>
+     * The default implementation delegates to {@link #getSecondDerivative(double)}.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value into at index 0 and the y value into at index 1.
+     */
+    public void getSecondDerivative(double t, double[] out) {
+        Position secondDerivative = getSecondDerivative(t);
+        out[0] = secondDerivative.getX();
+        out[1] = secondDerivative.getY();
+    }
+
+    /**
+     * Writes the {@link Transform} along the {@link Parametric} at <code>t</code> into <code>out</code> as the x value,
+     * the y value and the heading of the tangent in degrees, without allocating a new {@link Transform}.
+     * <p>
+     * The default implementation delegates to {@link #getTransform(double)}.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value, y value and heading into at index 0, 1 and 2.
+     */
+    public void getTransform(double t, double[] out) {
+        Transform transform = getTransform(t);
+        out[0] = transform.getPosition().getX();
+        out[1] = transform.getPosition().getY();
+        out[2] = transform.getRotation().getHeading();
+    }
 }
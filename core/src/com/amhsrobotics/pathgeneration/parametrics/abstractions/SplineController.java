@@ -2,10 +2,12 @@ package com.amhsrobotics.pathgeneration.parametrics.abstractions;
 
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
 import com.amhsrobotics.pathgeneration.headsup.SplineProperties;
+import com.amhsrobotics.pathgeneration.parametrics.ParametricConstants;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.GenerationQuality;
 import com.amhsrobotics.pathgeneration.parametrics.libraries.Path;
+import com.amhsrobotics.pathgeneration.parametrics.libraries.Trajectory;
 import com.amhsrobotics.pathgeneration.positioning.Handle;
 import com.amhsrobotics.pathgeneration.positioning.library.Transform;
-import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
@@ -15,6 +17,11 @@ import java.util.ArrayList;
 
 public abstract class SplineController {
 
+    private boolean dirty = true;
+    private int generatedModificationCount;
+    private boolean previewShown = false;
+    private int idleFrames = 0;
+
     public abstract void setID(int ID);
 
     public abstract int getID();
@@ -25,7 +32,11 @@ public abstract class SplineController {
 
     public abstract void update(SpriteBatch batch, ShapeRenderer renderer, CameraController cam);
 
-    public abstract void generate();
+    public abstract void generate(GenerationQuality quality);
+
+    public void generate() {
+        generate(GenerationQuality.FINAL);
+    }
 
     public abstract void removeSegment(int index);
 
@@ -33,6 +44,14 @@ public abstract class SplineController {
 
     public abstract Vector2 getCenter();
 
+    public abstract Path getPath();
+
+    /**
+     * Returns the path timed within {@link ParametricConstants#TRAJECTORY_CONSTRAINTS}, in field pixels, from the
+     * latest final generation.
+     */
+    public abstract Trajectory getTrajectory();
+
     public abstract void resetHandles();
 
     public abstract void drawProperties(SpriteBatch batch, CameraController cam);
@@ -43,7 +62,62 @@ public abstract class SplineController {
 
     public abstract ArrayList<Transform> getTransforms();
 
-    public abstract void writeTo(FileHandle file);
+    public abstract void dispose();
 
     public abstract void setColor(Color color);
+
+    public abstract Color getColor();
+
+    /**
+     * Marks the spline as needing to be generated again, for changes that are not made through the setters of its
+     * transforms, such as adding or removing segments.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public boolean isDirty() {
+        return dirty || getModificationCount() != generatedModificationCount;
+    }
+
+    /**
+     * Generates the spline if it was marked dirty or any of its transforms changed since it was last generated.
+     * <p>
+     * While a handle is being dragged the spline is only generated at {@link GenerationQuality#PREVIEW} quality. The
+     * final quality follows once the drag ends or the handle has been still for a few frames.
+     */
+    public void regenerateIfDirty() {
+        boolean dragging = isDragging();
+        if(isDirty()) {
+            dirty = false;
+            generatedModificationCount = getModificationCount();
+            idleFrames = 0;
+            previewShown = dragging;
+            generate(dragging ? GenerationQuality.PREVIEW : GenerationQuality.FINAL);
+        } else if(previewShown && (!dragging || ++idleFrames >= ParametricConstants.PREVIEW_IDLE_FRAMES)) {
+            previewShown = false;
+            generate(GenerationQuality.FINAL);
+        }
+    }
+
+    private boolean isDragging() {
+        for(Handle h : getHandles()) {
+            if(h.isDragging()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the sum of the modification counts of the transforms of the spline. Every count only grows, so the sum
+     * changes whenever any transform changes.
+     */
+    protected int getModificationCount() {
+        int count = 0;
+        for(Transform t : getTransforms()) {
+            count += t.getModificationCount();
+        }
+        return count;
+    }
 }
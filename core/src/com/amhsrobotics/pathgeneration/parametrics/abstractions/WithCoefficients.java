@@ -0,0 +1,20 @@
+package com.amhsrobotics.pathgeneration.parametrics.abstractions;
+
+/**
+ * A {@link Parametric} that is a polynomial in power-basis form, so it can be stepped with forward differencing.
+ */
+public interface WithCoefficients {
+    /**
+     * Returns the power-basis coefficients of the x axis, lowest order first.
+     *
+     * @return the coefficients of the x axis, which must not be modified.
+     */
+    double[] getXCoefficients();
+
+    /**
+     * Returns the power-basis coefficients of the y axis, lowest order first.
+     *
+     * @return the coefficients of the y axis, which must not be modified.
+     */
+    double[] getYCoefficients();
+}
@@ -0,0 +1,128 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.Parametric;
+
+/**
+ * Flattens a {@link Path} into a polyline whose chords stay within a distance tolerance of the curve.
+ * <p>
+ * Every {@link Parametric} segment is recursively split in half until the curve at the middle and quarter parameters
+ * of a piece is within the tolerance of the chord between its ends, or until the maximum depth is reached. Straight
+ * sections end up with very few points, while tight turns get as many as they need.
+ */
+public class AdaptiveFlattener {
+    public static final int DEFAULT_MAX_DEPTH = 12;
+
+    //Always split a little, so that a segment that starts and ends at the same place is not taken as a point
+    private static final int MIN_DEPTH = 2;
+
+    private final double tolerance;
+    private final int maxDepth;
+    private final double[] point = new double[2];
+
+    public AdaptiveFlattener(double tolerance) {
+        this(tolerance, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Creates a flattener.
+     *
+     * @param tolerance the largest allowed distance between the curve and the polyline, in the units of the curve
+     * @param maxDepth  the most times a segment may be split in half.
+     */
+    public AdaptiveFlattener(double tolerance, int maxDepth) {
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("The flattening tolerance must be positive, got " + tolerance);
+        }
+        this.tolerance = tolerance;
+        this.maxDepth = Math.max(maxDepth, MIN_DEPTH);
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Flattens every segment of <code>path</code> into <code>buffer</code>, replacing its contents.
+     *
+     * @param path   the {@link Path} to flatten
+     * @param buffer the {@link SampleBuffer} to fill.
+     */
+    public void flatten(Path path, SampleBuffer buffer) {
+        buffer.clear();
+        Parametric[] parametrics = path.getParametrics();
+        for (int i = 0; i < parametrics.length; i++) {
+            if (i == 0) {
+                parametrics[i].getPosition(0, point);
+                buffer.add((float) point[0], (float) point[1]);
+            }
+            flattenSegment(parametrics[i], buffer);
+        }
+    }
+
+    /**
+     * Appends the flattened points of <code>parametric</code> to <code>buffer</code>, leaving out the point at
+     * <code>t = 0</code> since it is the last point of the previous segment.
+     *
+     * @param parametric the segment to flatten
+     * @param buffer     the {@link SampleBuffer} to append to.
+     */
+    public void flattenSegment(Parametric parametric, SampleBuffer buffer) {
+        parametric.getPosition(0, point);
+        double startX = point[0];
+        double startY = point[1];
+        parametric.getPosition(1, point);
+        subdivide(parametric, 0, startX, startY, 1, point[0], point[1], 0, buffer);
+    }
+
+    private void subdivide(Parametric parametric, double a, double ax, double ay, double b, double bx, double by,
+                           int depth, SampleBuffer buffer) {
+        double middle = (a + b) / 2;
+        parametric.getPosition(middle, point);
+        double middleX = point[0];
+        double middleY = point[1];
+
+        if (depth < MIN_DEPTH || (depth < maxDepth && !isFlat(parametric, a, ax, ay, b, bx, by, middleX, middleY))) {
+            subdivide(parametric, a, ax, ay, middle, middleX, middleY, depth + 1, buffer);
+            subdivide(parametric, middle, middleX, middleY, b, bx, by, depth + 1, buffer);
+        } else {
+            buffer.add((float) bx, (float) by);
+        }
+    }
+
+    /**
+     * Returns whether the curve at the middle and quarter parameters is within the tolerance of the chord.
+     */
+    private boolean isFlat(Parametric parametric, double a, double ax, double ay, double b, double bx, double by,
+                           double middleX, double middleY) {
+        if (getChordError(ax, ay, bx, by, middleX, middleY) > tolerance) {
+            return false;
+        }
+        parametric.getPosition(a + (b - a) / 4, point);
+        if (getChordError(ax, ay, bx, by, point[0], point[1]) > tolerance) {
+            return false;
+        }
+        parametric.getPosition(b - (b - a) / 4, point);
+        return getChordError(ax, ay, bx, by, point[0], point[1]) <= tolerance;
+    }
+
+    /**
+     * Returns the distance from <code>(x, y)</code> to the chord between its ends. Points beyond an end are measured
+     * to that end, so a curve that doubles back along the line of the chord is not taken as flat.
+     */
+    private static double getChordError(double ax, double ay, double bx, double by, double x, double y) {
+        double chordX = bx - ax;
+        double chordY = by - ay;
+        double lengthSquared = chordX * chordX + chordY * chordY;
+        double projection = 0;
+        if (lengthSquared > 0) {
+            projection = Math.max(0, Math.min(1, (chordX * (x - ax) + chordY * (y - ay)) / lengthSquared));
+        }
+        double dx = x - (ax + chordX * projection);
+        double dy = y - (ay + chordY * projection);
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,150 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.Parametric;
+
+/**
+ * A cumulative arc length lookup table over the {@link Parametric} segments of a {@link Path}.
+ * <p>
+ * Each segment is split into {@link #INTERVALS_PER_SEGMENT} equal parameter intervals whose lengths are integrated
+ * with 5 point Gauss-Legendre quadrature on the magnitude of the first derivative. Lookups between the knots integrate
+ * the remaining partial interval with the same rule, and parameters at a given distance are found with a binary
+ * search over the knots followed by Newton iterations.
+ */
+public class ArcLengthTable {
+    public static final int INTERVALS_PER_SEGMENT = 16;
+
+    private static final int NEWTON_ITERATIONS = 8;
+    private static final double[] GAUSS_NODES = {
+            -0.9061798459386640, -0.5384693101056831, 0, 0.5384693101056831, 0.9061798459386640
+    };
+    private static final double[] GAUSS_WEIGHTS = {
+            0.2369268850561891, 0.4786286704993665, 0.5688888888888889, 0.4786286704993665, 0.2369268850561891
+    };
+
+    private final Parametric[] parametrics;
+    private final double[] cumulative;
+
+    /**
+     * Builds the table for the given {@link Parametric} segments, in the order they make up the {@link Path}.
+     *
+     * @param parametrics the segments to measure.
+     */
+    public ArcLengthTable(Parametric[] parametrics) {
+        this.parametrics = parametrics;
+        this.cumulative = new double[parametrics.length * INTERVALS_PER_SEGMENT + 1];
+
+        double[] derivative = new double[2];
+        int knot = 0;
+        for (Parametric parametric : parametrics) {
+            for (int m = 0; m < INTERVALS_PER_SEGMENT; m++) {
+                double a = (double) m / INTERVALS_PER_SEGMENT;
+                double b = (double) (m + 1) / INTERVALS_PER_SEGMENT;
+                cumulative[knot + 1] = cumulative[knot] + integrate(parametric, a, b, derivative);
+                knot++;
+            }
+        }
+    }
+
+    /**
+     * Returns the total arc length of the {@link Path}.
+     *
+     * @return the total arc length of the {@link Path}.
+     */
+    public double getLength() {
+        return cumulative[cumulative.length - 1];
+    }
+
+    /**
+     * Returns the arc length from the start of the {@link Path} to the parameter <code>t</code> where
+     * <code>0 <= t <= 1</code>. Parameters outside of that range are clamped.
+     *
+     * @param t the parameter
+     * @return the arc length up to the parameter <code>t</code>.
+     */
+    public double getDistanceAtT(double t) {
+        if (parametrics.length == 0 || t <= 0) {
+            return 0;
+        }
+        if (t >= 1) {
+            return getLength();
+        }
+
+        double scaledT = t * parametrics.length;
+        int segment = Math.min((int) scaledT, parametrics.length - 1);
+        double localT = scaledT - segment;
+        int interval = Math.min((int) (localT * INTERVALS_PER_SEGMENT), INTERVALS_PER_SEGMENT - 1);
+
+        double knotT = (double) interval / INTERVALS_PER_SEGMENT;
+        return cumulative[segment * INTERVALS_PER_SEGMENT + interval] +
+                integrate(parametrics[segment], knotT, localT, new double[2]);
+    }
+
+    /**
+     * Returns the parameter <code>t</code>, where <code>0 <= t <= 1</code>, at which the arc length from the start of
+     * the {@link Path} equals <code>distance</code>. Distances outside of the {@link Path} are clamped.
+     *
+     * @param distance the arc length from the start of the {@link Path}
+     * @return the parameter at the given arc length.
+     */
+    public double getTAtDistance(double distance) {
+        if (parametrics.length == 0 || distance <= 0) {
+            return 0;
+        }
+        if (distance >= getLength()) {
+            return 1;
+        }
+
+        //Find the last knot at or before the distance
+        int low = 0;
+        int high = cumulative.length - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (cumulative[mid] <= distance) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        int segment = low / INTERVALS_PER_SEGMENT;
+        int interval = low % INTERVALS_PER_SEGMENT;
+        Parametric parametric = parametrics[segment];
+        double a = (double) interval / INTERVALS_PER_SEGMENT;
+        double b = (double) (interval + 1) / INTERVALS_PER_SEGMENT;
+        double target = distance - cumulative[low];
+        double intervalLength = cumulative[low + 1] - cumulative[low];
+
+        //Start from a linear interpolation within the interval and polish with Newton's method, staying in bounds
+        double[] derivative = new double[2];
+        double u = intervalLength > 0 ? a + (b - a) * target / intervalLength : a;
+        for (int i = 0; i < NEWTON_ITERATIONS; i++) {
+            double error = integrate(parametric, a, u, derivative) - target;
+            double speed = getSpeed(parametric, u, derivative);
+            if (speed <= 0 || Math.abs(error) <= 1e-9 * (1 + intervalLength)) {
+                break;
+            }
+            u = Math.max(a, Math.min(b, u - error / speed));
+        }
+
+        return (segment + u) / parametrics.length;
+    }
+
+    /**
+     * Integrates the magnitude of the first derivative of <code>parametric</code> from <code>a</code> to
+     * <code>b</code> with 5 point Gauss-Legendre quadrature.
+     */
+    private static double integrate(Parametric parametric, double a, double b, double[] derivative) {
+        double halfWidth = (b - a) / 2;
+        double center = (a + b) / 2;
+        double sum = 0;
+        for (int i = 0; i < GAUSS_NODES.length; i++) {
+            sum += GAUSS_WEIGHTS[i] * getSpeed(parametric, center + halfWidth * GAUSS_NODES[i], derivative);
+        }
+        return sum * halfWidth;
+    }
+
+    private static double getSpeed(Parametric parametric, double t, double[] derivative) {
+        parametric.getFirstDerivative(t, derivative);
+        return Math.sqrt(derivative[0] * derivative[0] + derivative[1] * derivative[1]);
+    }
+}
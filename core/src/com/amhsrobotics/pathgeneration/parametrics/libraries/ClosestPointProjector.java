@@ -0,0 +1,167 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.Parametric;
+
+/**
+ * Projects a point onto a single {@link Parametric} segment.
+ * <p>
+ * The segment is first sampled coarsely to bracket the nearest local minimum of the distance. That minimum is then
+ * refined with Newton iterations on <code>f(t) = (P(t) - q) · P'(t) = 0</code>, using
+ * <code>f'(t) = |P'(t)|² + (P(t) - q) · P''(t)</code>. Whenever a Newton step would leave the bracket or the curvature
+ * of the distance is not positive, the iteration falls back to bisection, so it always converges. If the bracket holds
+ * more than one turn of the distance, a golden section search is used instead.
+ */
+public class ClosestPointProjector {
+    public static final int DEFAULT_SAMPLES = 10;
+
+    private static final int MAX_ITERATIONS = 32;
+    private static final int GOLDEN_ITERATIONS = 64;
+    private static final double GOLDEN_RATIO = 0.6180339887498949;
+    private static final double TOLERANCE = 1e-12;
+
+    /**
+     * Finds the parameter of the point on <code>parametric</code> between <code>a</code> and <code>b</code> that is
+     * closest to <code>(x, y)</code>.
+     *
+     * @param parametric the segment to project onto
+     * @param x          the x value of the point to project
+     * @param y          the y value of the point to project
+     * @param a          the smallest parameter to consider
+     * @param b          the largest parameter to consider
+     * @param samples    the amount of coarse intervals used to bracket the minimum
+     * @param scratch    an array of at least 2 values used while evaluating, so that no garbage is produced.
+     * @return the parameter of the closest point, between <code>a</code> and <code>b</code>.
+     */
+    public static double project(Parametric parametric, double x, double y, double a, double b, int samples,
+                                 double[] scratch) {
+        samples = Math.max(samples, 2);
+        double increment = (b - a) / samples;
+
+        double bestT = a;
+        double bestDistance = getDistanceSquared(parametric, a, x, y, scratch);
+        for (int i = 1; i <= samples; i++) {
+            double t = i == samples ? b : a + increment * i;
+            double distance = getDistanceSquared(parametric, t, x, y, scratch);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                bestT = t;
+            }
+        }
+
+        //The distance decreases towards the minimum, so the sign of its derivative picks the side of the best sample
+        double derivative = getDistanceDerivative(parametric, bestT, x, y, scratch);
+        if (derivative == 0) {
+            return bestT;
+        }
+        double low = derivative < 0 ? bestT : Math.max(a, bestT - increment);
+        double high = derivative < 0 ? Math.min(b, bestT + increment) : bestT;
+        if (low == high) {
+            return bestT;
+        }
+
+        double refinedT;
+        if (getDistanceDerivative(parametric, derivative < 0 ? high : low, x, y, scratch) * derivative < 0) {
+            refinedT = refine(parametric, x, y, low, high, bestT, scratch);
+        } else {
+            //The derivative changes sign more than once in the interval, so it can not be bisected
+            refinedT = goldenSection(parametric, x, y, low, high, scratch);
+        }
+        if (getDistanceSquared(parametric, refinedT, x, y, scratch) < bestDistance) {
+            return refinedT;
+        }
+        return bestT;
+    }
+
+    /**
+     * Refines a minimum of the distance bracketed by a sign change of its derivative with safeguarded Newton
+     * iterations.
+     */
+    private static double refine(Parametric parametric, double x, double y, double low, double high, double t,
+                                 double[] scratch) {
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            parametric.getPosition(t, scratch);
+            double dx = scratch[0] - x;
+            double dy = scratch[1] - y;
+            parametric.getFirstDerivative(t, scratch);
+            double vx = scratch[0];
+            double vy = scratch[1];
+            parametric.getSecondDerivative(t, scratch);
+
+            double f = dx * vx + dy * vy;
+            double fPrime = vx * vx + vy * vy + dx * scratch[0] + dy * scratch[1];
+
+            if (f < 0) {
+                low = t;
+            } else {
+                high = t;
+            }
+
+            double next = fPrime > 0 ? t - f / fPrime : Double.NaN;
+            if (!(next > low && next < high)) {
+                next = (low + high) / 2;
+            }
+            if (Math.abs(next - t) <= TOLERANCE || high - low <= TOLERANCE) {
+                return next;
+            }
+            t = next;
+        }
+        return t;
+    }
+
+    /**
+     * Finds a minimum of the distance between <code>low</code> and <code>high</code> with a golden section search.
+     */
+    private static double goldenSection(Parametric parametric, double x, double y, double low, double high,
+                                        double[] scratch) {
+        double c = high - GOLDEN_RATIO * (high - low);
+        double d = low + GOLDEN_RATIO * (high - low);
+        double distanceC = getDistanceSquared(parametric, c, x, y, scratch);
+        double distanceD = getDistanceSquared(parametric, d, x, y, scratch);
+        for (int i = 0; i < GOLDEN_ITERATIONS && high - low > TOLERANCE; i++) {
+            if (distanceC < distanceD) {
+                high = d;
+                d = c;
+                distanceD = distanceC;
+                c = high - GOLDEN_RATIO * (high - low);
+                distanceC = getDistanceSquared(parametric, c, x, y, scratch);
+            } else {
+                low = c;
+                c = d;
+                distanceC = distanceD;
+                d = low + GOLDEN_RATIO * (high - low);
+                distanceD = getDistanceSquared(parametric, d, x, y, scratch);
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    /**
+     * Returns the squared distance from the point at <code>t</code> on <code>parametric</code> to
+     * <code>(x, y)</code>.
+     *
+     * @param parametric the segment
+     * @param t          the parameter
+     * @param x          the x value of the point
+     * @param y          the y value of the point
+     * @param scratch    an array of at least 2 values used while evaluating.
+     * @return the squared distance.
+     */
+    public static double getDistanceSquared(Parametric parametric, double t, double x, double y, double[] scratch) {
+        parametric.getPosition(t, scratch);
+        double dx = scratch[0] - x;
+        double dy = scratch[1] - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Returns half of the derivative of the squared distance, <code>(P(t) - q) · P'(t)</code>.
+     */
+    private static double getDistanceDerivative(Parametric parametric, double t, double x, double y,
+                                                double[] scratch) {
+        parametric.getPosition(t, scratch);
+        double dx = scratch[0] - x;
+        double dy = scratch[1] - y;
+        parametric.getFirstDerivative(t, scratch);
+        return dx * scratch[0] + dy * scratch[1];
+    }
+}
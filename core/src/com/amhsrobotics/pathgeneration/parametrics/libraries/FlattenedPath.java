@@ -0,0 +1,84 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.Parametric;
+
+/**
+ * The flattened polyline of a {@link Path}, kept in a single {@link SampleBuffer} together with the range of samples
+ * that belongs to each {@link Parametric} segment.
+ * <p>
+ * Knowing the ranges allows a single segment to be flattened again and spliced into the buffer after it changes,
+ * instead of flattening the whole {@link Path}.
+ */
+public class FlattenedPath {
+    private final AdaptiveFlattener flattener;
+    private final SampleBuffer samples = new SampleBuffer();
+    private final SampleBuffer segmentSamples = new SampleBuffer();
+    private final double[] point = new double[2];
+
+    //The index after the last sample of each segment. The first sample is the start of the first segment.
+    private int[] segmentEnds = new int[0];
+
+    public FlattenedPath(AdaptiveFlattener flattener) {
+        this.flattener = flattener;
+    }
+
+    /**
+     * Flattens every segment of <code>path</code>, replacing the current samples.
+     *
+     * @param path the {@link Path} to flatten.
+     */
+    public void flatten(Path path) {
+        Parametric[] parametrics = path.getParametrics();
+        if (segmentEnds.length != parametrics.length) {
+            segmentEnds = new int[parametrics.length];
+        }
+
+        samples.clear();
+        if (parametrics.length == 0) {
+            return;
+        }
+        parametrics[0].getPosition(0, point);
+        samples.add((float) point[0], (float) point[1]);
+        for (int i = 0; i < parametrics.length; i++) {
+            flattener.flattenSegment(parametrics[i], samples);
+            segmentEnds[i] = samples.size();
+        }
+    }
+
+    /**
+     * Flattens the segment at <code>index</code> of <code>path</code> again and splices it into the samples. The
+     * {@link Path} must have the same amount of segments as when it was last flattened.
+     *
+     * @param path  the {@link Path} the segment belongs to
+     * @param index the index of the segment that changed.
+     */
+    public void flattenSegment(Path path, int index) {
+        Parametric parametric = path.getParametrics()[index];
+
+        segmentSamples.clear();
+        flattener.flattenSegment(parametric, segmentSamples);
+
+        int from = index == 0 ? 1 : segmentEnds[index - 1];
+        int to = segmentEnds[index];
+        samples.replace(from, to, segmentSamples);
+
+        int shift = segmentSamples.size() - (to - from);
+        for (int i = index; i < segmentEnds.length; i++) {
+            segmentEnds[i] += shift;
+        }
+
+        if (index == 0) {
+            parametric.getPosition(0, point);
+            samples.set(0, (float) point[0], (float) point[1]);
+        }
+    }
+
+    /**
+     * Returns the flattened samples of the whole {@link Path}.
+     *
+     * @return the flattened samples of the whole {@link Path}.
+     */
+    public SampleBuffer getSamples() {
+        return samples;
+    }
+}
@@ -0,0 +1,100 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+/**
+ * Steps a 2d polynomial curve in power-basis form through evenly spaced parameters using forward differencing.
+ * <p>
+ * After {@link #begin(double[], double[], double, double)} sets up the difference tables, every call to
+ * {@link #step()} advances to the next parameter with only additions. The tables are built analytically from the
+ * Taylor expansion of the curve around the starting parameter instead of by subtracting sampled values, which keeps
+ * the higher order differences free of cancellation error.
+ */
+public class ForwardDifferencer {
+    /**
+     * The amount of steps between direct re-evaluations when re-anchoring.
+     */
+    public static final int ANCHOR_INTERVAL = 64;
+
+    //Stirling numbers of the second kind S(k, m) for k, m <= 5, used to convert power coefficients to differences
+    private static final double[][] STIRLING = {
+            {1},
+            {0, 1},
+            {0, 1, 1},
+            {0, 1, 3, 1},
+            {0, 1, 7, 6, 1},
+            {0, 1, 15, 25, 10, 1}
+    };
+    private static final double[] FACTORIAL = {1, 1, 2, 6, 24, 120};
+
+    private final double[] xDifferences = new double[STIRLING.length];
+    private final double[] yDifferences = new double[STIRLING.length];
+    private final double[] shifted = new double[STIRLING.length];
+    private int degree;
+
+    /**
+     * Sets up the difference tables so that the current point is the curve at <code>t</code> and every step advances
+     * the parameter by <code>step</code>.
+     *
+     * @param xCoefficients the power-basis coefficients of the x axis, lowest order first, of at most degree 5.
+     * @param yCoefficients the power-basis coefficients of the y axis, lowest order first, of at most degree 5.
+     * @param t             the parameter of the first point
+     * @param step          the parameter increment between points
+     */
+    public void begin(double[] xCoefficients, double[] yCoefficients, double t, double step) {
+        degree = Math.max(xCoefficients.length, yCoefficients.length) - 1;
+        if (degree >= STIRLING.length) {
+            throw new IllegalArgumentException("Forward differencing supports polynomials up to degree "
+                    + (STIRLING.length - 1));
+        }
+        computeDifferences(xCoefficients, t, step, xDifferences);
+        computeDifferences(yCoefficients, t, step, yDifferences);
+    }
+
+    /**
+     * Fills <code>differences</code> with the forward differences of one axis at <code>t</code>.
+     */
+    private void computeDifferences(double[] coefficients, double t, double step, double[] differences) {
+        //Taylor shift the polynomial to t, so that shifted[k] is the k-th derivative at t divided by k!
+        for (int i = 0; i <= degree; i++) {
+            shifted[i] = i < coefficients.length ? coefficients[i] : 0;
+        }
+        for (int k = 0; k < degree; k++) {
+            for (int i = degree - 1; i >= k; i--) {
+                shifted[i] += t * shifted[i + 1];
+            }
+        }
+
+        //Scale to the step so that shifted describes the curve as a polynomial of the step count
+        double scale = 1;
+        for (int k = 0; k <= degree; k++) {
+            shifted[k] *= scale;
+            scale *= step;
+        }
+
+        //The m-th forward difference of j^k at j = 0 is m! * S(k, m)
+        for (int m = 0; m <= degree; m++) {
+            double difference = 0;
+            for (int k = m; k <= degree; k++) {
+                difference += shifted[k] * STIRLING[k][m];
+            }
+            differences[m] = difference * FACTORIAL[m];
+        }
+    }
+
+    /**
+     * Advances the current point by one step.
+     */
+    public void step() {
+        for (int m = 0; m < degree; m++) {
+            xDifferences[m] += xDifferences[m + 1];
+            yDifferences[m] += yDifferences[m + 1];
+        }
+    }
+
+    public double getX() {
+        return xDifferences[0];
+    }
+
+    public double getY() {
+        return yDifferences[0];
+    }
+}
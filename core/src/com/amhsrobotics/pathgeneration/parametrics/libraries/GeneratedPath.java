@@ -0,0 +1,133 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+/**
+ * A finished generation of a spline: the {@link Path}, its flattened samples and, for final generations, its
+ * {@link Trajectory}.
+ * <p>
+ * The samples are kept at several levels of detail. Level <code>0</code> is flattened at the base tolerance and every
+ * following level at twice the tolerance of the one before, so a zoomed out view can draw a level with far fewer
+ * points without a visible difference. The bounds of the samples are kept for culling.
+ * <p>
+ * Nothing is changed after it is published, so a {@link GeneratedPath} built on a worker thread can be read by the
+ * render thread without locking.
+ */
+public class GeneratedPath {
+    private final Path path;
+    private final SampleBuffer[] levels;
+    private final double tolerance;
+    private final GenerationQuality quality;
+    private final Trajectory trajectory;
+
+    private float minX = Float.POSITIVE_INFINITY;
+    private float minY = Float.POSITIVE_INFINITY;
+    private float maxX = Float.NEGATIVE_INFINITY;
+    private float maxY = Float.NEGATIVE_INFINITY;
+
+    /**
+     * Creates a generation.
+     *
+     * @param path      the generated {@link Path}
+     * @param levels    the samples of each level of detail, from the finest to the coarsest
+     * @param tolerance the flattening tolerance of the finest level
+     * @param quality   the quality the path was generated at.
+     */
+    public GeneratedPath(Path path, SampleBuffer[] levels, double tolerance, GenerationQuality quality) {
+        this(path, levels, tolerance, quality, null);
+    }
+
+    /**
+     * Creates a generation.
+     *
+     * @param path       the generated {@link Path}
+     * @param levels     the samples of each level of detail, from the finest to the coarsest
+     * @param tolerance  the flattening tolerance of the finest level
+     * @param quality    the quality the path was generated at
+     * @param trajectory the {@link Trajectory} along the path, or <code>null</code> if it was not timed.
+     */
+    public GeneratedPath(Path path, SampleBuffer[] levels, double tolerance, GenerationQuality quality,
+                         Trajectory trajectory) {
+        if (levels.length == 0) {
+            throw new IllegalArgumentException("A generated path needs at least one level of samples");
+        }
+        this.path = path;
+        this.levels = levels;
+        this.tolerance = tolerance;
+        this.quality = quality;
+        this.trajectory = trajectory;
+
+        SampleBuffer samples = levels[0];
+        for (int i = 0; i < samples.size(); i++) {
+            minX = Math.min(minX, samples.getX(i));
+            minY = Math.min(minY, samples.getY(i));
+            maxX = Math.max(maxX, samples.getX(i));
+            maxY = Math.max(maxY, samples.getY(i));
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the samples of the finest level of detail.
+     *
+     * @return the samples of the finest level of detail.
+     */
+    public SampleBuffer getSamples() {
+        return levels[0];
+    }
+
+    public SampleBuffer getSamples(int level) {
+        return levels[level];
+    }
+
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    /**
+     * Returns the coarsest level of detail whose samples stay within <code>maxError</code> of the curve.
+     *
+     * @param maxError the largest distance between the curve and the samples that is not noticeable, in the units of
+     *                 the curve
+     * @return the level of detail to draw, <code>0</code> if even the finest level is not within <code>maxError</code>.
+     */
+    public int getLevel(double maxError) {
+        int level = 0;
+        double levelTolerance = tolerance * 2;
+        while (level + 1 < levels.length && levelTolerance <= maxError) {
+            level++;
+            levelTolerance *= 2;
+        }
+        return level;
+    }
+
+    public GenerationQuality getQuality() {
+        return quality;
+    }
+
+    /**
+     * Returns the {@link Trajectory} along the path, which is only generated along with final generations.
+     *
+     * @return the {@link Trajectory}, or <code>null</code> if the path was not timed.
+     */
+    public Trajectory getTrajectory() {
+        return trajectory;
+    }
+
+    public float getMinX() {
+        return minX;
+    }
+
+    public float getMinY() {
+        return minY;
+    }
+
+    public float getMaxX() {
+        return maxX;
+    }
+
+    public float getMaxY() {
+        return maxY;
+    }
+}
@@ -0,0 +1,16 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+/**
+ * The quality a spline is generated at.
+ */
+public enum GenerationQuality {
+    /**
+     * A coarse flattening without derived data, used while a handle is being dragged.
+     */
+    PREVIEW,
+    /**
+     * The full quality flattening along with derived data such as the {@link ArcLengthTable} and the
+     * {@link Trajectory}.
+     */
+    FINAL
+}
@@ -2,6 +2,7 @@ package com.amhsrobotics.pathgeneration.parametrics.libraries;
 
 
 import com.amhsrobotics.pathgeneration.parametrics.abstractions.Parametric;
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.WithCoefficients;
 import com.amhsrobotics.pathgeneration.positioning.library.Position;
 import com.amhsrobotics.pathgeneration.positioning.library.Rotation;
 import com.amhsrobotics.pathgeneration.positioning.library.Transform;
@@ -12,6 +13,8 @@ import java.util.ArrayList;
 public class Path extends Parametric {
     private Transform[] waypoints;
     private Parametric[] parametrics;
+    private ArcLengthTable arcLengthTable;
+    private SegmentHierarchy segmentHierarchy;
 
     public Path(Parametric[] parametrics) {
         this.parametrics = parametrics;
@@ -33,6 +36,20 @@ public class Path extends Parametric {
         }
     }
 
+    /**
+     * Returns the index of the {@link Parametric} segment that the scaled parameter falls in, or -1 if it is outside
+     * of the {@link Path}.
+     *
+     * @param scaledT the parameter scaled from 0 to 1 to 0 to the amount of segments.
+     * @return the index of the segment containing <code>scaledT</code>, or -1 if there is none.
+     */
+    private int getSegmentIndex(double scaledT) {
+        if (!(scaledT >= 0 && scaledT <= parametrics.length)) {
+            return -1;
+        }
+        return Math.min((int) scaledT, parametrics.length - 1);
+    }
+
     /**
      * Returns the {@link Position} along the {@link Parametric} at <code>t</code> where <code>0 <= t <= 1</code>.
      *
@@ -45,12 +62,10 @@ public class Path extends Parametric {
         //segments of the total path.
         t = t * parametrics.length;
 
-        for (int i = 0; i < parametrics.length; i++) {
-            //Find which parametric equation segment that t falls in
-            if (t >= i && t <= i + 1) {
-                //return the Transform from the segment that it falls in
-                return parametrics[i].getPosition(t - i);
-            }
+        //Find which parametric equation segment that t falls in
+        int i = getSegmentIndex(t);
+        if (i != -1) {
+            return parametrics[i].getPosition(t - i);
         }
         return new Position();
     }
@@ -70,12 +85,10 @@ public class Path extends Parametric {
         //segments of the total path.
         t = t * parametrics.length;
 
-        for (int i = 0; i < parametrics.length; i++) {
-            //Find which parametric equation segment that t falls in
-            if (t >= i && t <= i + 1) {
-                //return the Transform from the segment that it falls in
-                return parametrics[i].getTransform(t - i);
-            }
+        //Find which parametric equation segment that t falls in
+        int i = getSegmentIndex(t);
+        if (i != -1) {
+            return parametrics[i].getTransform(t - i);
         }
         return new Transform();
     }
@@ -92,14 +105,11 @@ public class Path extends Parametric {
         //segments of the total path.
         t = t * parametrics.length;
 
-        for (int i = 0; i < parametrics.length; i++) {
-            //Find which parametric equation segment that t falls in
-            if (t >= i && t <= i + 1) {
-                //return the Transform from the segment that it falls in
-                return parametrics[i].getCurvature(t - i);
-            }
+        //Find which parametric equation segment that t falls in
+        int i = getSegmentIndex(t);
+        if (i != -1) {
+            return parametrics[i].getCurvature(t - i);
         }
-
         return 1 / 2e16;
     }
 
@@ -109,14 +119,11 @@ public class Path extends Parametric {
         //segments of the total path.
         t = t * parametrics.length;
 
-        for (int i = 0; i < parametrics.length; i++) {
-            //Find which parametric equation segment that t falls in
-            if (t >= i && t <= i + 1) {
-                //return the Transform from the segment that it falls in
-                return parametrics[i].getFirstDerivative(t - i);
-            }
+        //Find which parametric equation segment that t falls in
+        int i = getSegmentIndex(t);
+        if (i != -1) {
+            return parametrics[i].getFirstDerivative(t - i);
         }
-
         return new Position();
     }
 
@@ -126,15 +133,359 @@ public class Path extends Parametric {
         //segments of the total path.
         t = t * parametrics.length;
 
-        for (int i = 0; i < parametrics.length; i++) {
-            //Find which parametric equation segment that t falls in
-            if (t >= i && t <= i + 1) {
-                //return the Transform from the segment that it falls in
-                return parametrics[i].getSecondDerivative(t - i);
+        //Find which parametric equation segment that t falls in
+        int i = getSegmentIndex(t);
+        if (i != -1) {
+            return parametrics[i].getSecondDerivative(t - i);
+        }
+        return new Position();
+    }
+
+    /**
+     * Writes the x and y value of the {@link Position} at <code>t</code> into <code>out</code> without allocating.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value into at index 0 and the y value into at index 1.
+     */
+    @Override
+    public void getPosition(double t, double[] out) {
+        t = t * parametrics.length;
+
+        int i = getSegmentIndex(t);
+        if (i != -1) {
+            parametrics[i].getPosition(t - i, out);
+        } else {
+            out[0] = 0;
+            out[1] = 0;
+        }
+    }
+
+    /**
+     * Writes the x value, y value and tangent heading in degrees at <code>t</code> into <code>out</code> without
+     * allocating.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value, y value and heading into at index 0, 1 and 2.
+     */
+    @Override
+    public void getTransform(double t, double[] out) {
+        t = t * parametrics.length;
+
+        int i = getSegmentIndex(t);
+        if (i != -1) {
+            parametrics[i].getTransform(t - i, out);
+        } else {
+            out[0] = 0;
+            out[1] = 0;
+            out[2] = 0;
+        }
+    }
+
+    /**
+     * Writes the x and y value of the first derivative at <code>t</code> into <code>out</code> without allocating.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value into at index 0 and the y value into at index 1.
+     */
+    @Override
+    public void getFirstDerivative(double t, double[] out) {
+        t = t * parametrics.length;
+
+        int i = getSegmentIndex(t);
+        if (i != -1) {
+            parametrics[i].getFirstDerivative(t - i, out);
+        } else {
+            out[0] = 0;
+            out[1] = 0;
+        }
+    }
+
+    /**
+     * Writes the x and y value of the second derivative at <code>t</code> into <code>out</code> without allocating.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value into at index 0 and the y value into at index 1.
+     */
+    @Override
+    public void getSecondDerivative(double t, double[] out) {
+        t = t * parametrics.length;
+
+        int i = getSegmentIndex(t);
+        if (i != -1) {
+            parametrics[i].getSecondDerivative(t - i, out);
+        } else {
+            out[0] = 0;
+            out[1] = 0;
+        }
+    }
+
+    /**
+     * Samples <code>count</code> evenly spaced parameters from <code>tStart</code> to <code>tEnd</code>, both
+     * inclusive, into <code>buffer</code>, replacing its contents.
+     * <p>
+     * Every sample is evaluated directly. See {@link #sample(double, double, int, SampleBuffer, SamplingMode)}.
+     *
+     * @param tStart the first parameter to sample
+     * @param tEnd   the last parameter to sample
+     * @param count  the amount of samples
+     * @param buffer the {@link SampleBuffer} to fill.
+     */
+    public void sample(double tStart, double tEnd, int count, SampleBuffer buffer) {
+        sample(tStart, tEnd, count, buffer, SamplingMode.DIRECT);
+    }
+
+    /**
+     * Samples <code>count</code> evenly spaced parameters from <code>tStart</code> to <code>tEnd</code>, both
+     * inclusive, into <code>buffer</code>, replacing its contents.
+     * <p>
+     * The segments of the {@link Path} are walked in order, so the segment search is only done once per segment
+     * instead of once per sample. With one of the forward differencing {@link SamplingMode}s, each segment that
+     * exposes its coefficients through {@link WithCoefficients} is set up once and then stepped with additions only.
+     *
+     * @param tStart the first parameter to sample
+     * @param tEnd   the last parameter to sample
+     * @param count  the amount of samples
+     * @param buffer the {@link SampleBuffer} to fill.
+     * @param mode   how to evaluate the samples
+     */
+    public void sample(double tStart, double tEnd, int count, SampleBuffer buffer, SamplingMode mode) {
+        buffer.setSize(count);
+        float[] x = buffer.getXs();
+        float[] y = buffer.getYs();
+        double[] point = new double[2];
+
+        ForwardDifferencer differencer = mode == SamplingMode.DIRECT ? null : new ForwardDifferencer();
+        double localStep = count > 1 ? (tEnd - tStart) / (count - 1) * parametrics.length : 0;
+        int differencedSegment = -1;
+        int stepsSinceAnchor = 0;
+
+        int segment = 0;
+        for (int k = 0; k < count; k++) {
+            double scaledT = getUniformParameter(tStart, tEnd, count, k) * parametrics.length;
+            segment = advanceSegmentIndex(segment, scaledT);
+            if (segment == -1) {
+                x[k] = 0;
+                y[k] = 0;
+                segment = 0;
+                differencedSegment = -1;
+                continue;
+            }
+
+            Parametric parametric = parametrics[segment];
+            if (differencer != null && parametric instanceof WithCoefficients) {
+                if (segment != differencedSegment || (mode == SamplingMode.ANCHORED_FORWARD_DIFFERENCE &&
+                        stepsSinceAnchor == ForwardDifferencer.ANCHOR_INTERVAL)) {
+                    WithCoefficients polynomial = (WithCoefficients) parametric;
+                    differencer.begin(polynomial.getXCoefficients(), polynomial.getYCoefficients(),
+                            scaledT - segment, localStep);
+                    differencedSegment = segment;
+                    stepsSinceAnchor = 0;
+                } else {
+                    differencer.step();
+                    stepsSinceAnchor++;
+                }
+                x[k] = (float) differencer.getX();
+                y[k] = (float) differencer.getY();
+            } else {
+                parametric.getPosition(scaledT - segment, point);
+                x[k] = (float) point[0];
+                y[k] = (float) point[1];
             }
         }
+    }
 
-        return new Position();
+    /**
+     * Samples <code>count</code> evenly spaced parameters from <code>tStart</code> to <code>tEnd</code>, both
+     * inclusive, into the given arrays.
+     * <p>
+     * The <code>heading</code> and <code>curvature</code> arrays are optional and may be <code>null</code> if they are
+     * not needed.
+     *
+     * @param tStart    the first parameter to sample
+     * @param tEnd      the last parameter to sample
+     * @param count     the amount of samples
+     * @param x         the array to write the x values into.
+     * @param y         the array to write the y values into.
+     * @param heading   the array to write the tangent headings in degrees into, or <code>null</code>.
+     * @param curvature the array to write the curvatures into, or <code>null</code>.
+     */
+    public void sample(double tStart, double tEnd, int count, double[] x, double[] y, double[] heading,
+                       double[] curvature) {
+        double[] point = new double[3];
+        int segment = 0;
+        for (int k = 0; k < count; k++) {
+            segment = sampleInto(getUniformParameter(tStart, tEnd, count, k), segment, k, point, x, y, heading,
+                    curvature);
+        }
+    }
+
+    /**
+     * Samples every parameter in <code>parameters</code> into the given arrays.
+     * <p>
+     * Sorted parameters are the fastest, since the segments of the {@link Path} are then walked in order. The
+     * <code>heading</code> and <code>curvature</code> arrays are optional and may be <code>null</code> if they are not
+     * needed.
+     *
+     * @param parameters the parameters to sample
+     * @param x          the array to write the x values into.
+     * @param y          the array to write the y values into.
+     * @param heading    the array to write the tangent headings in degrees into, or <code>null</code>.
+     * @param curvature  the array to write the curvatures into, or <code>null</code>.
+     */
+    public void sample(double[] parameters, double[] x, double[] y, double[] heading, double[] curvature) {
+        double[] point = new double[3];
+        int segment = 0;
+        for (int k = 0; k < parameters.length; k++) {
+            segment = sampleInto(parameters[k], segment, k, point, x, y, heading, curvature);
+        }
+    }
+
+    /**
+     * Samples a single parameter into index <code>k</code> of the given arrays.
+     *
+     * @return the segment the parameter fell in, used as the starting point of the next search.
+     */
+    private int sampleInto(double t, int segment, int k, double[] point, double[] x, double[] y, double[] heading,
+                           double[] curvature) {
+        double scaledT = t * parametrics.length;
+        segment = advanceSegmentIndex(segment, scaledT);
+        if (segment == -1) {
+            x[k] = 0;
+            y[k] = 0;
+            if (heading != null) {
+                heading[k] = 0;
+            }
+            if (curvature != null) {
+                curvature[k] = 1 / 2e16;
+            }
+            return 0;
+        }
+
+        Parametric parametric = parametrics[segment];
+        double localT = scaledT - segment;
+        if (heading != null) {
+            parametric.getTransform(localT, point);
+            heading[k] = point[2];
+        } else {
+            parametric.getPosition(localT, point);
+        }
+        x[k] = point[0];
+        y[k] = point[1];
+        if (curvature != null) {
+            curvature[k] = parametric.getCurvature(localT);
+        }
+        return segment;
+    }
+
+    /**
+     * Returns the <code>k</code>th of <code>count</code> evenly spaced parameters from <code>tStart</code> to
+     * <code>tEnd</code>, both inclusive.
+     */
+    private static double getUniformParameter(double tStart, double tEnd, int count, int k) {
+        if (count == 1) {
+            return tStart;
+        }
+        return k == count - 1 ? tEnd : tStart + (tEnd - tStart) * k / (count - 1);
+    }
+
+    /**
+     * Returns the index of the segment that <code>scaledT</code> falls in, starting the search from the segment of the
+     * previous sample so that increasing parameters only walk forward.
+     *
+     * @param segment the segment of the previous sample
+     * @param scaledT the parameter scaled from 0 to 1 to 0 to the amount of segments.
+     * @return the index of the segment containing <code>scaledT</code>, or -1 if there is none.
+     */
+    private int advanceSegmentIndex(int segment, double scaledT) {
+        if (scaledT >= segment && scaledT <= segment + 1) {
+            return segment;
+        }
+        if (scaledT > segment + 1 && scaledT <= parametrics.length) {
+            while (scaledT > segment + 1) {
+                segment++;
+            }
+            return segment;
+        }
+        return getSegmentIndex(scaledT);
+    }
+
+    /**
+     * Returns the {@link ArcLengthTable} of this {@link Path}, building it the first time it is needed after the
+     * {@link Parametric}s change.
+     *
+     * @return the {@link ArcLengthTable} of this {@link Path}.
+     */
+    public ArcLengthTable getArcLengthTable() {
+        if (arcLengthTable == null) {
+            arcLengthTable = new ArcLengthTable(parametrics);
+        }
+        return arcLengthTable;
+    }
+
+    /**
+     * Returns the total arc length of this {@link Path}.
+     *
+     * @return the total arc length of this {@link Path}.
+     */
+    public double getLength() {
+        return getArcLengthTable().getLength();
+    }
+
+    /**
+     * Returns the parameter <code>t</code>, where <code>0 <= t <= 1</code>, at which the arc length from the start of
+     * this {@link Path} equals <code>distance</code>. Distances outside of the {@link Path} are clamped.
+     *
+     * @param distance the arc length from the start of the {@link Path}
+     * @return the parameter at the given arc length.
+     */
+    public double getTAtDistance(double distance) {
+        return getArcLengthTable().getTAtDistance(distance);
+    }
+
+    /**
+     * Returns the arc length from the start of this {@link Path} to the parameter <code>t</code> where
+     * <code>0 <= t <= 1</code>.
+     *
+     * @param t the parameter
+     * @return the arc length up to the parameter <code>t</code>.
+     */
+    public double getDistanceAtT(double t) {
+        return getArcLengthTable().getDistanceAtT(t);
+    }
+
+    /**
+     * Returns the {@link SegmentHierarchy} of this {@link Path}, building it the first time it is needed after the
+     * {@link Parametric}s change.
+     *
+     * @return the {@link SegmentHierarchy} of this {@link Path}.
+     */
+    public SegmentHierarchy getSegmentHierarchy() {
+        if (segmentHierarchy == null) {
+            segmentHierarchy = new SegmentHierarchy(parametrics);
+        }
+        return segmentHierarchy;
+    }
+
+    /**
+     * Returns whether any point of this {@link Path} is within <code>distance</code> of the
+     * <code>referencePosition</code>.
+     *
+     * @param referencePosition the {@link Position} to test.
+     * @param distance          the distance to test against
+     * @return whether this {@link Path} passes within <code>distance</code> of the <code>referencePosition</code>.
+     */
+    public boolean isWithinDistance(Position referencePosition, double distance) {
+        return getSegmentHierarchy().isWithinDistance(referencePosition.getX(), referencePosition.getY(), distance);
+    }
+
+    /**
+     * Returns the smallest distance between this {@link Path} and <code>other</code>.
+     *
+     * @param other the other {@link Path}
+     * @return the smallest distance between the two {@link Path}s.
+     */
+    public double getMinimumDistance(Path other) {
+        return getSegmentHierarchy().getMinimumDistance(other.getSegmentHierarchy());
     }
 
     /**
@@ -186,22 +537,18 @@ public class Path extends Parametric {
      * The {@link TransformWithParameter} contains the {@link Transform} of the point as well as the <code>t</code> value of it
      * along the {@link Parametric}.
      * <p>
-     * The closest point is found by sampling <code>searchIncrement</code> amount of points on the {@link Parametric}.
-     * After the initial points are sampled, it finds the closest point and creates a smaller bound to search within. It
-     * then repeats the same process within the smaller bound for a total of <code>searches</code> loops. Therefore, the
-     * total resolution of the closest point is <code>searchIncrement</code> to the power of <code>searches</code>.
-     * <p>
-     * For example, if <code>searchIncrement</code> is 10 and <code>searches</code> is 3, it will get 10 points, create
-     * a smaller boundary, get another 10 points within the boundary, create a smaller boundary again, and lastly find
-     * the closest point within 10 points within the final smaller boundary. This would find a point within the accuracy
-     * of 1000 points, although it only does 30 total samples.
+     * The closest point is found by sampling <code>searchIncrement</code> evenly spaced points on every {@link
+     * Parametric} segment that the {@link SegmentHierarchy} can not rule out, to bracket the nearest minimum of the
+     * distance, which is then refined with Newton iterations by the {@link ClosestPointProjector}. The result is
+     * accurate to the precision of a <code>double</code> regardless of <code>searches</code>, which is kept for
+     * compatibility and ignored.
      * <p>
      * If the point is outside the start and end of the {@link Path}, either the start or end {@link Transform} will be
      * picked.
      *
      * @param referencePosition the {@link Position} to find the closest {@link TransformWithParameter} to.
-     * @param searchIncrement   the samples within each search.
-     * @param searches          the amount of searches to perform to get the final closest value.
+     * @param searchIncrement   the coarse samples on each {@link Parametric} segment.
+     * @param searches          ignored, the refinement always runs until it converges.
      * @return the closest {@link TransformWithParameter} to the <code>referencePosition</code>.
      */
     public TransformWithParameter getClosestTransform(Position referencePosition, double searchIncrement,
@@ -216,15 +563,11 @@ public class Path extends Parametric {
      * The {@link TransformWithParameter} contains the {@link Transform} of the point as well as the <code>t</code> value of it
      * along the {@link Parametric}.
      * <p>
-     * The closest point is found by sampling <code>searchIncrement</code> amount of points on the {@link Parametric}.
-     * After the initial points are sampled, it finds the closest point and creates a smaller bound to search within. It
-     * then repeats the same process within the smaller bound for a total of <code>searches</code> loops. Therefore, the
-     * total resolution of the closest point is <code>searchIncrement</code> to the power of <code>searches</code>.
-     * <p>
-     * For example, if <code>searchIncrement</code> is 10 and <code>searches</code> is 3, it will get 10 points, create
-     * a smaller boundary, get another 10 points within the boundary, create a smaller boundary again, and lastly find
-     * the closest point within 10 points within the final smaller boundary. This would find a point within the accuracy
-     * of 1000 points, although it only does 30 total samples.
+     * The closest point is found by sampling <code>searchIncrement</code> evenly spaced points on every {@link
+     * Parametric} segment that the {@link SegmentHierarchy} can not rule out, to bracket the nearest minimum of the
+     * distance, which is then refined with Newton iterations by the {@link ClosestPointProjector}. The result is
+     * accurate to the precision of a <code>double</code> regardless of <code>searches</code>, which is kept for
+     * compatibility and ignored.
      * <p>
      * If the point is outside the start and end of the {@link Path}, either the start or end {@link Transform} will be
      * picked. If the distance shifted point is off the {@link Path}, it will be interpolated on a line extending either
@@ -236,8 +579,8 @@ public class Path extends Parametric {
      *
      * @param referencePosition the {@link Position} to find the closest {@link TransformWithParameter} to.
      * @param distanceShift     the distance away from the <code>referencePosition</code> the closest point should be.
-     * @param searchIncrement   the samples within each search.
-     * @param searches          the amount of searches to perform to get the final closest value.
+     * @param searchIncrement   the coarse samples on each {@link Parametric} segment.
+     * @param searches          ignored, the refinement always runs until it converges.
      * @return the closest {@link TransformWithParameter} to the <code>referencePosition</code>.
      */
     public TransformWithParameter getClosestTransform(Position referencePosition, double distanceShift,
@@ -253,15 +596,11 @@ public class Path extends Parametric {
      * The {@link TransformWithParameter} contains the {@link Transform} of the point as well as the <code>t</code> value of it
      * along the {@link Parametric}.
      * <p>
-     * The closest point is found by sampling <code>searchIncrement</code> amount of points on the {@link Parametric}.
-     * After the initial points are sampled, it finds the closest point and creates a smaller bound to search within. It
-     * then repeats the same process within the smaller bound for a total of <code>searches</code> loops. Therefore, the
-     * total resolution of the closest point is <code>searchIncrement</code> to the power of <code>searches</code>.
-     * <p>
-     * For example, if <code>searchIncrement</code> is 10 and <code>searches</code> is 3, it will get 10 points, create
-     * a smaller boundary, get another 10 points within the boundary, create a smaller boundary again, and lastly find
-     * the closest point within 10 points within the final smaller boundary. This would find a point within the accuracy
-     * of 1000 points, although it only does 30 total samples.
+     * The closest point is found by sampling <code>searchIncrement</code> evenly spaced points on every {@link
+     * Parametric} segment that the {@link SegmentHierarchy} can not rule out, to bracket the nearest minimum of the
+     * distance, which is then refined with Newton iterations by the {@link ClosestPointProjector}. The result is
+     * accurate to the precision of a <code>double</code> regardless of <code>searches</code>, which is kept for
+     * compatibility and ignored.
      * <p>
      * If the point is outside the start and end of the {@link Path}, either the start or end {@link Transform} of the
      * {@link Path} will be picked. If the distance shifted point is off the {@link Path}, it will be interpolated on a
@@ -269,23 +608,51 @@ public class Path extends Parametric {
      * <p>
      * Since there is a <code>distanceShift</code> in this search, it first finds the actual closest point to the
      * <code>referencePosition</code> and then performs the distance shifted search using the actual closest point as a
-     * guide of whether or not the point is in front or behind the <code>referencePosition</code>. It will only pick
-     * points in front of the actual closest point on the {@link Path} if <code>pointInFront</code> is
-     * <code>false</code>, and only behind the actual closest point on the {@link Path} if <code>pointInFront</code> is
-     * <code>true</code>.
+     * guide of whether or not the point is in front or behind the <code>referencePosition</code>. It walks from the
+     * actual closest point in front of it if <code>pointInFront</code> is <code>true</code>, or behind it otherwise,
+     * and returns the first point at exactly <code>distanceShift</code> from the <code>referencePosition</code>.
      *
      * @param referencePosition the {@link Position} to find the closest {@link TransformWithParameter} to.
      * @param distanceShift     the distance away from the <code>referencePosition</code> the closest point should be.
      * @param pointInFront      whether to find the closest {@link Position} behind or in front of the
      *                          <code>referencePosition</code>.
-     * @param searchIncrement   the samples within each search.
-     * @param searches          the amount of searches to perform to get the final closest value.
+     * @param searchIncrement   the coarse samples on each {@link Parametric} segment.
+     * @param searches          ignored, the refinement always runs until it converges.
      * @return the closest {@link TransformWithParameter} to the <code>referencePosition</code>.
      */
     public TransformWithParameter getClosestTransform(Position referencePosition, double distanceShift,
                                                       boolean pointInFront,
                                                       double searchIncrement, double searches) {
 
+        double closestT = getClosestT(referencePosition, searchIncrement, searches);
+        if (distanceShift == 0) {
+            return new TransformWithParameter(getTransform(closestT), closestT);
+        }
+        return getShiftedTransform(referencePosition, closestT, distanceShift, pointInFront, (int) searchIncrement);
+    }
+
+    /**
+     * Finds the {@link TransformWithParameter} that is <code>distanceShift</code> away from the
+     * <code>referencePosition</code>, starting from an already known closest <code>t</code> value. See
+     * {@link #getShiftedT(Position, double, double, boolean)}.
+     * <p>
+     * If the distance shifted point is off the end of the {@link Path}, it will be interpolated on a line extending the
+     * end {@link Transform} of the {@link Path}.
+     *
+     * @param referencePosition the {@link Position} to measure the distance from.
+     * @param closestT          the closest <code>t</code> value to the <code>referencePosition</code>.
+     * @param distanceShift     the distance away from the <code>referencePosition</code> the point should be.
+     * @param pointInFront      whether to walk in front of or behind <code>closestT</code>.
+     * @return the distance shifted {@link TransformWithParameter}.
+     */
+    public TransformWithParameter getShiftedTransform(Position referencePosition, double closestT,
+                                                      double distanceShift, boolean pointInFront) {
+        return getShiftedTransform(referencePosition, closestT, distanceShift, pointInFront,
+                ClosestPointProjector.DEFAULT_SAMPLES);
+    }
+
+    private TransformWithParameter getShiftedTransform(Position referencePosition, double closestT,
+                                                       double distanceShift, boolean pointInFront, int samples) {
         double distanceToEndWaypoint = referencePosition.distance(getEndWaypoint().getPosition());
         if (distanceToEndWaypoint <= distanceShift) {
             double distanceOffset = distanceShift - distanceToEndWaypoint;
@@ -295,15 +662,8 @@ public class Path extends Parametric {
             return new TransformWithParameter(new Transform(position), 1);
         }
 
-        double tFinal;
-        if (distanceShift == 0) {
-            tFinal = getClosestT(referencePosition, searchIncrement, searches);
-        } else {
-            tFinal = getClosestT(referencePosition, distanceShift, pointInFront, searchIncrement, searches);
-        }
-
-        Transform transform = getTransform(tFinal);
-        return new TransformWithParameter(transform, tFinal);
+        double tFinal = getShiftedT(referencePosition, closestT, distanceShift, pointInFront, samples);
+        return new TransformWithParameter(getTransform(tFinal), tFinal);
     }
 
     /**
@@ -311,50 +671,69 @@ public class Path extends Parametric {
      * <p>
      * The <code>t</code> value contains the position along the {@link Parametric} between 0 and 1.
      * <p>
-     * The closest <code>t</code> value of the point is found by sampling <code>searchIncrement</code> amount of points
-     * on the {@link Parametric}. After the initial points are sampled, it finds the closest point and creates a smaller
-     * bound to search within. It then repeats the same process within the smaller bound for a total of
-     * <code>searches</code> loops. Therefore, the total resolution of the closest point is
-     * <code>searchIncrement</code> to the power of <code>searches</code>.
-     * <p>
-     * For example, if <code>searchIncrement</code> is 10 and <code>searches</code> is 3, it will get 10 points, create
-     * a smaller boundary, get another 10 points within the boundary, create a smaller boundary again, and lastly find
-     * the closest point within 10 points within the final smaller boundary. This would find a point within the accuracy
-     * of 1000 points, although it only does 30 total samples.
+     * The closest point is found by sampling <code>searchIncrement</code> evenly spaced points on every {@link
+     * Parametric} segment that the {@link SegmentHierarchy} can not rule out, to bracket the nearest minimum of the
+     * distance, which is then refined with Newton iterations by the {@link ClosestPointProjector}. The result is
+     * accurate to the precision of a <code>double</code> regardless of <code>searches</code>, which is kept for
+     * compatibility and ignored.
      * <p>
      * If the point is outside the start and end of the {@link Path}, either 0 or 1 will be picked, representing the
      * first or last point on the {@link Parametric}.
      *
      * @param referencePosition the {@link Position} to find the closest <code>t</code> value to.
-     * @param searchIncrement   the samples within each search.
-     * @param searches          the amount of searches to perform to get the final closest value.
+     * @param searchIncrement   the coarse samples on each {@link Parametric} segment.
+     * @param searches          ignored, the refinement always runs until it converges.
      * @return the closest <code>t</code> value on the {@link Parametric} that is closest to the
      * <code>referencePosition</code>.
      */
     public double getClosestT(Position referencePosition, double searchIncrement, double searches) {
-        double tFinal = 0;
-        double minSearchT = 0;
-        double maxSearchT = 1;
-        double finalMinSearchT = 0;
-        double finalMaxSearchT = 1;
+        int samples = (int) Math.ceil(searchIncrement / SegmentHierarchy.LEAVES_PER_SEGMENT);
+        return getSegmentHierarchy().getClosestT(referencePosition.getX(), referencePosition.getY(),
+                Math.max(samples, 2));
+    }
+
+    /**
+     * Finds the closest <code>t</code> value to the <code>referencePosition</code> between <code>tMin</code> and
+     * <code>tMax</code>, where <code>0 <= tMin <= tMax <= 1</code>.
+     * <p>
+     * Only the {@link Parametric} segments overlapping the range are searched, each with
+     * {@link ClosestPointProjector#DEFAULT_SAMPLES} coarse samples before the Newton refinement.
+     *
+     * @param referencePosition the {@link Position} to find the closest <code>t</code> value to.
+     * @param tMin              the smallest <code>t</code> value to consider.
+     * @param tMax              the largest <code>t</code> value to consider.
+     * @return the closest <code>t</code> value within the range.
+     */
+    public double getClosestTInRange(Position referencePosition, double tMin, double tMax) {
+        return getClosestTInRange(referencePosition, tMin, tMax, ClosestPointProjector.DEFAULT_SAMPLES);
+    }
+
+    private double getClosestTInRange(Position referencePosition, double tMin, double tMax, int samples) {
+        double[] point = new double[2];
+        double referenceX = referencePosition.getX();
+        double referenceY = referencePosition.getY();
+
+        double scaledMin = Math.max(0, Math.min(tMin, tMax)) * parametrics.length;
+        double scaledMax = Math.min(1, Math.max(tMin, tMax)) * parametrics.length;
+        int firstSegment = Math.max(getSegmentIndex(scaledMin), 0);
+        int lastSegment = Math.max(getSegmentIndex(scaledMax), 0);
+
+        double tFinal = scaledMin;
         double closestDistance = Double.POSITIVE_INFINITY;
-        for (int j = 1; j < searches + 1; j++) {
-            double currentIncrement = 1 / Math.pow(searchIncrement, j);
-            for (double t = finalMinSearchT; t < finalMaxSearchT; t += currentIncrement) {
-                Transform transform = getTransform(t);
-                double distance = Math.abs(transform.getPosition().distance(referencePosition));
-                if (distance < closestDistance) {
-                    closestDistance = distance;
-                    minSearchT = t - currentIncrement;
-                    maxSearchT = t + currentIncrement;
-                    tFinal = t;
-                }
+        for (int i = firstSegment; i <= lastSegment; i++) {
+            Parametric parametric = parametrics[i];
+            double a = Math.max(scaledMin - i, 0);
+            double b = Math.min(scaledMax - i, 1);
+            double localT = ClosestPointProjector.project(parametric, referenceX, referenceY, a, b, samples, point);
+            double distance = ClosestPointProjector.getDistanceSquared(parametric, localT, referenceX, referenceY,
+                    point);
+            if (distance < closestDistance) {
+                closestDistance = distance;
+                tFinal = i + localT;
             }
-            finalMinSearchT = minSearchT;
-            finalMaxSearchT = maxSearchT;
         }
 
-        return tFinal;
+        return tFinal / parametrics.length;
     }
 
     /**
@@ -364,15 +743,11 @@ public class Path extends Parametric {
      * The {@link TransformWithParameter} contains the {@link Transform} of the point as well as the <code>t</code> value of it
      * along the {@link Parametric}.
      * <p>
-     * The closest point is found by sampling <code>searchIncrement</code> amount of points on the {@link Parametric}.
-     * After the initial points are sampled, it finds the closest point and creates a smaller bound to search within. It
-     * then repeats the same process within the smaller bound for a total of <code>searches</code> loops. Therefore, the
-     * total resolution of the closest point is <code>searchIncrement</code> to the power of <code>searches</code>.
-     * <p>
-     * For example, if <code>searchIncrement</code> is 10 and <code>searches</code> is 3, it will get 10 points, create
-     * a smaller boundary, get another 10 points within the boundary, create a smaller boundary again, and lastly find
-     * the closest point within 10 points within the final smaller boundary. This would find a point within the accuracy
-     * of 1000 points, although it only does 30 total samples.
+     * The closest point is found by sampling <code>searchIncrement</code> evenly spaced points on every {@link
+     * Parametric} segment that the {@link SegmentHierarchy} can not rule out, to bracket the nearest minimum of the
+     * distance, which is then refined with Newton iterations by the {@link ClosestPointProjector}. The result is
+     * accurate to the precision of a <code>double</code> regardless of <code>searches</code>, which is kept for
+     * compatibility and ignored.
      * <p>
      * If the point is outside the start and end of the {@link Path}, either 0 or 1 will be picked, representing the
      * first or last point on the {@link Parametric}. If the distance shifted point is off the {@link Path}, it will
@@ -384,14 +759,14 @@ public class Path extends Parametric {
      *
      * @param referencePosition the {@link Position} to find the closest <code>t</code> value to.
      * @param distanceShift     the distance away from the <code>referencePosition</code> the closest point should be.
-     * @param searchIncrement   the samples within each search.
-     * @param searches          the amount of searches to perform to get the final closest value.
+     * @param searchIncrement   the coarse samples on each {@link Parametric} segment.
+     * @param searches          ignored, the refinement always runs until it converges.
      * @return the closest <code>t</code> value on the {@link Parametric} that is closest to the
      * <code>referencePosition</code>.
      */
     public double getClosestT(Position referencePosition, double distanceShift, double searchIncrement,
                               double searches) {
-        return getClosestT(referencePosition, distanceShift, searchIncrement, searches);
+        return getClosestT(referencePosition, distanceShift, true, searchIncrement, searches);
     }
 
     /**
@@ -401,15 +776,11 @@ public class Path extends Parametric {
      * The {@link TransformWithParameter} contains the {@link Transform} of the point as well as the <code>t</code> value of it
      * along the {@link Parametric}.
      * <p>
-     * The closest point is found by sampling <code>searchIncrement</code> amount of points on the {@link Parametric}.
-     * After the initial points are sampled, it finds the closest point and creates a smaller bound to search within. It
-     * then repeats the same process within the smaller bound for a total of <code>searches</code> loops. Therefore, the
-     * total resolution of the closest point is <code>searchIncrement</code> to the power of <code>searches</code>.
-     * <p>
-     * For example, if <code>searchIncrement</code> is 10 and <code>searches</code> is 3, it will get 10 points, create
-     * a smaller boundary, get another 10 points within the boundary, create a smaller boundary again, and lastly find
-     * the closest point within 10 points within the final smaller boundary. This would find a point within the accuracy
-     * of 1000 points, although it only does 30 total samples.
+     * The closest point is found by sampling <code>searchIncrement</code> evenly spaced points on every {@link
+     * Parametric} segment that the {@link SegmentHierarchy} can not rule out, to bracket the nearest minimum of the
+     * distance, which is then refined with Newton iterations by the {@link ClosestPointProjector}. The result is
+     * accurate to the precision of a <code>double</code> regardless of <code>searches</code>, which is kept for
+     * compatibility and ignored.
      * <p>
      * If the point is outside the start and end of the {@link Path}, either 0 or 1 will be picked, representing the
      * first or last point on the {@link Parametric}. If the distance shifted point is off the {@link Path}, it will
@@ -417,16 +788,16 @@ public class Path extends Parametric {
      * <p>
      * Since there is a <code>distanceShift</code> in this search, it first finds the actual closest point to the
      * <code>referencePosition</code> and then performs the distance shifted search using the actual closest point as a
-     * guide of whether or not the point is in front or behind the <code>referencePosition</code>. It will only pick
-     * points in front of the actual closest point on the {@link Path} if pointInFront is <code>false</code>, and only
-     * behind the actual closest point on the {@link Path} if pointInFront is <code>true</code>.
+     * guide of whether or not the point is in front or behind the <code>referencePosition</code>. It walks from the
+     * actual closest point in front of it if <code>pointInFront</code> is <code>true</code>, or behind it otherwise,
+     * and returns the first point at exactly <code>distanceShift</code> from the <code>referencePosition</code>.
      *
      * @param referencePosition the {@link Position} to find the closest <code>t</code> value to.
      * @param distanceShift     the distance away from the <code>referencePosition</code> the closest point should be.
      * @param pointInFront      whether to find the closest {@link Position} behind or in front of the
      *                          <code>referencePosition</code>.
-     * @param searchIncrement   the samples within each search.
-     * @param searches          the amount of searches to perform to get the final closest value.
+     * @param searchIncrement   the coarse samples on each {@link Parametric} segment.
+     * @param searches          ignored, the refinement always runs until it converges.
      * @return the closest <code>t</code> value on the {@link Parametric} that is closest to the
      * <code>referencePosition</code>.
      */
@@ -438,32 +809,102 @@ public class Path extends Parametric {
             return actualClosestT;
         }
 
-        double tFinal = 0;
-        double closestDistance = Double.POSITIVE_INFINITY;
-        double minSearchT = 0;
-        double maxSearchT = 1;
-        double finalMinSearchT = 0;
-        double finalMaxSearchT = 1;
-        for (int j = 1; j < searches + 1; j++) {
-            double currentIncrement = 1 / Math.pow(searchIncrement, j);
-            for (double t = finalMinSearchT; t < finalMaxSearchT; t += currentIncrement) {
-                Transform transform = getTransform(t);
-                double distance = Math.abs(transform.getPosition().distance(referencePosition) - distanceShift);
-                if (distance < closestDistance &&
-                        ((!pointInFront && actualClosestT >= t) || (pointInFront && actualClosestT <= t))) {
-                    closestDistance = distance;
-                    minSearchT = t - currentIncrement;
-                    maxSearchT = t + currentIncrement;
-                    tFinal = t;
-                }
+        return getShiftedT(referencePosition, actualClosestT, distanceShift, pointInFront, (int) searchIncrement);
+    }
+
+    /**
+     * Finds the <code>t</code> value that is <code>distanceShift</code> away from the <code>referencePosition</code>,
+     * starting from an already known closest <code>t</code> value.
+     * <p>
+     * It walks from <code>closestT</code> in front of it if <code>pointInFront</code> is <code>true</code>, or behind
+     * it otherwise, and returns the first point at exactly <code>distanceShift</code> from the
+     * <code>referencePosition</code>. If no point is that far away, the point that gets the closest to it is picked.
+     *
+     * @param referencePosition the {@link Position} to measure the distance from.
+     * @param closestT          the closest <code>t</code> value to the <code>referencePosition</code>.
+     * @param distanceShift     the distance away from the <code>referencePosition</code> the point should be.
+     * @param pointInFront      whether to walk in front of or behind <code>closestT</code>.
+     * @return the distance shifted <code>t</code> value.
+     */
+    public double getShiftedT(Position referencePosition, double closestT, double distanceShift,
+                              boolean pointInFront) {
+        return getShiftedT(referencePosition, closestT, distanceShift, pointInFront,
+                ClosestPointProjector.DEFAULT_SAMPLES);
+    }
+
+    private double getShiftedT(Position referencePosition, double actualClosestT, double distanceShift,
+                               boolean pointInFront, int samples) {
+        double[] point = new double[2];
+        double referenceX = referencePosition.getX();
+        double referenceY = referencePosition.getY();
+
+        //Walk away from the closest point in coarse steps until the distance crosses the shift, then solve for the
+        //crossing. If it is never crossed, keep the step that got the closest to it.
+        double direction = pointInFront ? 1 : -1;
+        double increment = 1.0 / (Math.max(samples, 2) * parametrics.length);
+        double previousT = actualClosestT;
+        double previousError = getDistance(previousT, referenceX, referenceY, point) - distanceShift;
+        double tFinal = actualClosestT;
+        double closestError = Math.abs(previousError);
+        while (pointInFront ? previousT < 1 : previousT > 0) {
+            double t = Math.max(0, Math.min(1, previousT + direction * increment));
+            double error = getDistance(t, referenceX, referenceY, point) - distanceShift;
+            if (previousError < 0 && error >= 0) {
+                return solveDistanceCrossing(previousT, previousError, t, error, referenceX, referenceY,
+                        distanceShift, point);
+            }
+            if (Math.abs(error) < closestError) {
+                closestError = Math.abs(error);
+                tFinal = t;
             }
-            finalMinSearchT = minSearchT;
-            finalMaxSearchT = maxSearchT;
+            previousT = t;
+            previousError = error;
         }
 
         return tFinal;
     }
 
+    /**
+     * Solves for the <code>t</code> value between <code>t0</code> and <code>t1</code> where the distance to the
+     * reference equals <code>distanceShift</code> with the Illinois variant of the false position method, given the
+     * signed distance errors at both ends have opposite signs.
+     */
+    private double solveDistanceCrossing(double t0, double error0, double t1, double error1, double referenceX,
+                                         double referenceY, double distanceShift, double[] point) {
+        int retainedSide = 0;
+        double t = t1;
+        for (int i = 0; i < 50 && Math.abs(t1 - t0) > 1e-12; i++) {
+            t = t1 - error1 * (t1 - t0) / (error1 - error0);
+            double error = getDistance(t, referenceX, referenceY, point) - distanceShift;
+            if (error == 0) {
+                return t;
+            }
+            if ((error < 0) == (error0 < 0)) {
+                t0 = t;
+                error0 = error;
+                if (retainedSide == 1) {
+                    error1 /= 2;
+                }
+                retainedSide = 1;
+            } else {
+                t1 = t;
+                error1 = error;
+                if (retainedSide == -1) {
+                    error0 /= 2;
+                }
+                retainedSide = -1;
+            }
+        }
+        return t;
+    }
+
+    private double getDistance(double t, double referenceX, double referenceY, double[] point) {
+        getPosition(t, point);
+        double dx = point[0] - referenceX;
+        double dy = point[1] - referenceY;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
     /**
      * Generates an adaptive {@link Path} that makes <code>newStartTransform</code> the starting {@link Transform} of
      * the {@link Path}.
@@ -585,5 +1026,25 @@ public class Path extends Parametric {
      */
     public void setParametrics(Parametric[] parametrics) {
         this.parametrics = parametrics;
+        this.arcLengthTable = null;
+        this.segmentHierarchy = null;
+        initWaypoints();
+    }
+
+    /**
+     * Replaces a single {@link Parametric} segment of the {@link Path}, keeping all other segments.
+     * <p>
+     * Only the waypoints of the replaced segment are recomputed. Derived data such as the {@link ArcLengthTable} and
+     * {@link SegmentHierarchy} is rebuilt the next time it is needed.
+     *
+     * @param index      the index of the segment to replace
+     * @param parametric the new {@link Parametric} segment.
+     */
+    public void setParametric(int index, Parametric parametric) {
+        this.parametrics[index] = parametric;
+        this.arcLengthTable = null;
+        this.segmentHierarchy = null;
+        waypoints[index * 2] = parametric.getTransform(0);
+        waypoints[index * 2 + 1] = parametric.getTransform(1);
     }
 }
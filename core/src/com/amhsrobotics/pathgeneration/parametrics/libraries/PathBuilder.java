@@ -0,0 +1,152 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.positioning.library.Transform;
+
+/**
+ * Builds {@link GeneratedPath}s from waypoints, only regenerating the segments next to waypoints that changed since
+ * the previous build.
+ * <p>
+ * Each {@link GenerationQuality} keeps its own flattening. A build only brings the requested quality up to date and
+ * remembers which segments of the other one are stale, so a {@link GenerationQuality#FINAL} build after a drag only
+ * flattens the segments that changed during it. The derived data used by the editor, the {@link ArcLengthTable} and
+ * {@link SegmentHierarchy}, is only built along with final builds and left to be built lazily for previews. Final
+ * builds also flatten the coarser levels of detail of the {@link GeneratedPath}, each at twice the tolerance of the
+ * one before, while previews only have a single level. Every level keeps its own flattening too, so the coarse levels
+ * are also only flattened again where segments changed. A builder given a {@link TrajectoryGenerator} also times the
+ * path of final builds into a {@link Trajectory}.
+ * <p>
+ * The incremental state is owned by the builder, and every build publishes a copy of it, so builds must not run
+ * concurrently on the same builder but their results can be shared freely.
+ */
+public class PathBuilder {
+    private final WaypointSnapshot generatedWaypoints = new WaypointSnapshot();
+    private final Tier preview;
+    private final Tier fine;
+    private final Tier[] coarse;
+    private final TrajectoryGenerator trajectoryGenerator;
+    private Path path;
+
+    public PathBuilder(AdaptiveFlattener previewFlattener, AdaptiveFlattener finalFlattener) {
+        this(previewFlattener, finalFlattener, 1);
+    }
+
+    /**
+     * Creates a builder.
+     *
+     * @param previewFlattener the flattener used for {@link GenerationQuality#PREVIEW} builds
+     * @param finalFlattener   the flattener used for the finest level of {@link GenerationQuality#FINAL} builds
+     * @param levels           the amount of levels of detail of final builds.
+     */
+    public PathBuilder(AdaptiveFlattener previewFlattener, AdaptiveFlattener finalFlattener, int levels) {
+        this(previewFlattener, finalFlattener, levels, null);
+    }
+
+    /**
+     * Creates a builder.
+     *
+     * @param previewFlattener    the flattener used for {@link GenerationQuality#PREVIEW} builds
+     * @param finalFlattener      the flattener used for the finest level of {@link GenerationQuality#FINAL} builds
+     * @param levels              the amount of levels of detail of final builds
+     * @param trajectoryGenerator the generator that times final builds, or <code>null</code> to not time them.
+     */
+    public PathBuilder(AdaptiveFlattener previewFlattener, AdaptiveFlattener finalFlattener, int levels,
+                       TrajectoryGenerator trajectoryGenerator) {
+        this.trajectoryGenerator = trajectoryGenerator;
+        this.preview = new Tier(previewFlattener);
+        this.fine = new Tier(finalFlattener);
+        this.coarse = new Tier[Math.max(levels - 1, 0)];
+        double tolerance = finalFlattener.getTolerance();
+        for (int i = 0; i < coarse.length; i++) {
+            tolerance *= 2;
+            coarse[i] = new Tier(new AdaptiveFlattener(tolerance, finalFlattener.getMaxDepth()));
+        }
+    }
+
+    /**
+     * Brings the {@link Path} up to date with <code>waypoints</code> and returns a copy of it and its samples at the
+     * given quality.
+     *
+     * @param waypoints the waypoints of the spline, which must not change during the build.
+     * @param quality   the quality to build at.
+     * @return the {@link GeneratedPath} for the waypoints.
+     */
+    public GeneratedPath build(Transform[] waypoints, GenerationQuality quality) {
+        if (!generatedWaypoints.update(waypoints) || path == null) {
+            path = new Path(PathGenerator.getInstance().generateQuinticHermiteSplinePath(waypoints));
+            preview.invalidate(path.getParametrics().length);
+            fine.invalidate(path.getParametrics().length);
+            for (Tier tier : coarse) {
+                tier.invalidate(path.getParametrics().length);
+            }
+        } else {
+            for (int i = 0; i < waypoints.length - 1; i++) {
+                if (generatedWaypoints.isSegmentDirty(i)) {
+                    path.setParametric(i,
+                            PathGenerator.getInstance().generateQuinticHermiteSpline(waypoints[i], waypoints[i + 1]));
+                    preview.stale[i] = true;
+                    fine.stale[i] = true;
+                    for (Tier tier : coarse) {
+                        tier.stale[i] = true;
+                    }
+                }
+            }
+        }
+
+        Tier tier = quality == GenerationQuality.PREVIEW ? preview : fine;
+        tier.update(path);
+
+        Path published = new Path(path.getParametrics().clone());
+        if (quality == GenerationQuality.PREVIEW) {
+            return new GeneratedPath(published, new SampleBuffer[] {new SampleBuffer(tier.flattened.getSamples())},
+                    tier.flattener.getTolerance(), quality);
+        }
+
+        published.getArcLengthTable();
+        published.getSegmentHierarchy();
+        SampleBuffer[] levels = new SampleBuffer[coarse.length + 1];
+        levels[0] = new SampleBuffer(tier.flattened.getSamples());
+        for (int i = 0; i < coarse.length; i++) {
+            coarse[i].update(path);
+            levels[i + 1] = new SampleBuffer(coarse[i].flattened.getSamples());
+        }
+        Trajectory trajectory = trajectoryGenerator == null ? null : trajectoryGenerator.generate(published);
+        return new GeneratedPath(published, levels, tier.flattener.getTolerance(), quality, trajectory);
+    }
+
+    /**
+     * The flattening of one {@link GenerationQuality} or level of detail, with the segments that changed since it was
+     * last updated.
+     */
+    private static class Tier {
+        private final AdaptiveFlattener flattener;
+        private final FlattenedPath flattened;
+        private boolean[] stale = new boolean[0];
+        private boolean rebuild = true;
+
+        private Tier(AdaptiveFlattener flattener) {
+            this.flattener = flattener;
+            this.flattened = new FlattenedPath(flattener);
+        }
+
+        private void invalidate(int segments) {
+            stale = new boolean[segments];
+            rebuild = true;
+        }
+
+        private void update(Path path) {
+            if (rebuild) {
+                flattened.flatten(path);
+                rebuild = false;
+            } else {
+                for (int i = 0; i < stale.length; i++) {
+                    if (stale[i]) {
+                        flattened.flattenSegment(path, i);
+                    }
+                }
+            }
+            for (int i = 0; i < stale.length; i++) {
+                stale[i] = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.positioning.library.Position;
+import com.amhsrobotics.pathgeneration.positioning.library.TransformWithParameter;
+
+/**
+ * Tracks the closest point on a {@link Path} to a {@link Position} that moves along it, such as a robot following the
+ * {@link Path}.
+ * <p>
+ * Instead of searching the whole {@link Path} on every query like {@link Path#getClosestTransform(Position)}, the
+ * cursor remembers the last closest <code>t</code> value and only searches a window of <code>windowDistance</code> in
+ * arc length on either side of it. A global search is done on the first query, after {@link #reset()}, and whenever the
+ * windowed result looks wrong: when it lands on the edge of the window, or when the distance to the {@link Path} jumps
+ * by more than half the window since the last query.
+ */
+public class PathCursor {
+    public static final double DEFAULT_WINDOW_DISTANCE = 24;
+
+    private static final double EDGE_TOLERANCE = 1e-9;
+
+    private final Path path;
+    private final double windowDistance;
+
+    private boolean tracking;
+    private double t;
+    private double distanceAlongPath;
+    private double distanceToPath;
+
+    public PathCursor(Path path) {
+        this(path, DEFAULT_WINDOW_DISTANCE);
+    }
+
+    /**
+     * Creates a cursor on the given {@link Path}.
+     *
+     * @param path           the {@link Path} to track
+     * @param windowDistance the arc length searched on either side of the last closest point.
+     */
+    public PathCursor(Path path, double windowDistance) {
+        this.path = path;
+        this.windowDistance = windowDistance;
+    }
+
+    /**
+     * Moves the cursor to the closest point on the {@link Path} to the <code>referencePosition</code>.
+     *
+     * @param referencePosition the {@link Position} to track.
+     * @return the closest <code>t</code> value on the {@link Path}.
+     */
+    public double update(Position referencePosition) {
+        if (!tracking) {
+            moveTo(referencePosition, path.getClosestT(referencePosition, ClosestPointProjector.DEFAULT_SAMPLES, 0));
+            return t;
+        }
+
+        double tMin = path.getTAtDistance(distanceAlongPath - windowDistance);
+        double tMax = path.getTAtDistance(distanceAlongPath + windowDistance);
+        double windowedT = path.getClosestTInRange(referencePosition, tMin, tMax);
+        double windowedDistance = referencePosition.distance(path.getPosition(windowedT));
+
+        boolean onWindowEdge = (windowedT - tMin <= EDGE_TOLERANCE && tMin > 0) ||
+                (tMax - windowedT <= EDGE_TOLERANCE && tMax < 1);
+        if (onWindowEdge || Math.abs(windowedDistance - distanceToPath) > windowDistance / 2) {
+            moveTo(referencePosition, path.getClosestT(referencePosition, ClosestPointProjector.DEFAULT_SAMPLES, 0));
+        } else {
+            t = windowedT;
+            distanceAlongPath = path.getDistanceAtT(windowedT);
+            distanceToPath = windowedDistance;
+        }
+        return t;
+    }
+
+    private void moveTo(Position referencePosition, double closestT) {
+        tracking = true;
+        t = closestT;
+        distanceAlongPath = path.getDistanceAtT(closestT);
+        distanceToPath = referencePosition.distance(path.getPosition(closestT));
+    }
+
+    /**
+     * Moves the cursor to the closest point on the {@link Path} to the <code>referencePosition</code> and returns its
+     * {@link TransformWithParameter}.
+     *
+     * @param referencePosition the {@link Position} to track.
+     * @return the closest {@link TransformWithParameter} on the {@link Path}.
+     */
+    public TransformWithParameter getClosestTransform(Position referencePosition) {
+        update(referencePosition);
+        return new TransformWithParameter(path.getTransform(t), t);
+    }
+
+    /**
+     * Moves the cursor to the closest point on the {@link Path} to the <code>referencePosition</code> and returns the
+     * point in front of it that is <code>distanceShift</code> away from the <code>referencePosition</code>, with the
+     * same semantics as {@link Path#getClosestTransform(Position, double)}.
+     *
+     * @param referencePosition the {@link Position} to track.
+     * @param distanceShift     the distance away from the <code>referencePosition</code> the point should be.
+     * @return the distance shifted {@link TransformWithParameter}.
+     */
+    public TransformWithParameter getLookahead(Position referencePosition, double distanceShift) {
+        update(referencePosition);
+        if (distanceShift == 0) {
+            return new TransformWithParameter(path.getTransform(t), t);
+        }
+        return path.getShiftedTransform(referencePosition, t, distanceShift, true);
+    }
+
+    /**
+     * Forgets the tracked point, so that the next query searches the whole {@link Path}.
+     */
+    public void reset() {
+        tracking = false;
+    }
+
+    /**
+     * Returns the closest <code>t</code> value found by the last query.
+     *
+     * @return the closest <code>t</code> value found by the last query.
+     */
+    public double getParameter() {
+        return t;
+    }
+
+    /**
+     * Returns the arc length from the start of the {@link Path} to the point found by the last query.
+     *
+     * @return the arc length from the start of the {@link Path} to the tracked point.
+     */
+    public double getDistanceAlongPath() {
+        return distanceAlongPath;
+    }
+
+    /**
+     * Returns the distance from the last queried {@link Position} to the {@link Path}.
+     *
+     * @return the distance from the last queried {@link Position} to the {@link Path}.
+     */
+    public double getDistanceToPath() {
+        return distanceToPath;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
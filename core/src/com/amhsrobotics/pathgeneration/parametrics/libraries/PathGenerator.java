@@ -35,9 +35,13 @@ public class PathGenerator {
         Parametric[] parametrics = new Parametric[waypoints.length - 1];
 
         for (int i = 0; i < parametrics.length; i++) {
-            parametrics[i] = new QuinticHermiteSpline(waypoints[i], waypoints[i + 1]);
+            parametrics[i] = generateQuinticHermiteSpline(waypoints[i], waypoints[i + 1]);
         }
         return parametrics;
     }
+
+    public Parametric generateQuinticHermiteSpline(Transform start, Transform end) {
+        return new QuinticHermiteSpline(start, end);
+    }
 }
 
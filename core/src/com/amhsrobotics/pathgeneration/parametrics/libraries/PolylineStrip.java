@@ -0,0 +1,134 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+/**
+ * Builds the outline of a wide polyline as a single triangle strip.
+ * <p>
+ * Every point of the polyline becomes two vertices, offset by half the width to either side along the miter of the
+ * two chords meeting at it. The miter is clamped at tight turns so that a cusp does not shoot out a long spike, and
+ * the first and last points are pushed out by half the width to give the line square caps. Points that repeat the
+ * previous point are skipped, since they have no direction.
+ * <p>
+ * The vertices are kept in an array that only grows, so rebuilding the strip after every regeneration does not
+ * allocate once it has reached its working size.
+ */
+public class PolylineStrip {
+    public static final int FLOATS_PER_VERTEX = 2;
+
+    //The longest a miter may get, as a multiple of half the width
+    private static final float MITER_LIMIT = 4f;
+
+    private float[] vertices = new float[0];
+    private int vertexCount;
+
+    private float[] xs = new float[0];
+    private float[] ys = new float[0];
+
+    /**
+     * Builds the strip for the polyline through <code>samples</code>, replacing the previous vertices.
+     *
+     * @param samples the points of the polyline
+     * @param width   the width of the line.
+     */
+    public void build(SampleBuffer samples, float width) {
+        int count = copyDistinct(samples);
+        vertexCount = 0;
+        if (count < 2) {
+            return;
+        }
+
+        float halfWidth = width / 2;
+        float maxMiter = halfWidth * MITER_LIMIT;
+        ensureCapacity(count * 2 * FLOATS_PER_VERTEX);
+
+        for (int i = 0; i < count; i++) {
+            //The unit directions of the chords into and out of the point, the ends only have one chord
+            int in = Math.max(i, 1);
+            int out = Math.min(i + 1, count - 1);
+            float inX = xs[in] - xs[in - 1];
+            float inY = ys[in] - ys[in - 1];
+            float inLength = (float) Math.sqrt(inX * inX + inY * inY);
+            inX /= inLength;
+            inY /= inLength;
+
+            float outX = xs[out] - xs[out - 1];
+            float outY = ys[out] - ys[out - 1];
+            float outLength = (float) Math.sqrt(outX * outX + outY * outY);
+            outX /= outLength;
+            outY /= outLength;
+
+            //The miter runs along the normal of the averaged direction, and gets longer the sharper the turn
+            float tangentX = inX + outX;
+            float tangentY = inY + outY;
+            float tangentLength = (float) Math.sqrt(tangentX * tangentX + tangentY * tangentY);
+            float normalX;
+            float normalY;
+            float miter;
+            if (tangentLength < 1e-6f) {
+                //The line turns back on itself
+                normalX = -inY;
+                normalY = inX;
+                miter = halfWidth;
+            } else {
+                normalX = -tangentY / tangentLength;
+                normalY = tangentX / tangentLength;
+                float cos = normalX * -inY + normalY * inX;
+                miter = Math.min(halfWidth / cos, maxMiter);
+            }
+
+            float x = xs[i];
+            float y = ys[i];
+            if (i == 0) {
+                x -= inX * halfWidth;
+                y -= inY * halfWidth;
+            } else if (i == count - 1) {
+                x += outX * halfWidth;
+                y += outY * halfWidth;
+            }
+
+            int j = vertexCount * FLOATS_PER_VERTEX;
+            vertices[j] = x + normalX * miter;
+            vertices[j + 1] = y + normalY * miter;
+            vertices[j + 2] = x - normalX * miter;
+            vertices[j + 3] = y - normalY * miter;
+            vertexCount += 2;
+        }
+    }
+
+    /**
+     * Returns the vertices of the strip, as x and y pairs. Only the first {@link #getVertexCount()} vertices are part
+     * of the strip.
+     *
+     * @return the vertices of the strip.
+     */
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    private int copyDistinct(SampleBuffer samples) {
+        if (xs.length < samples.size()) {
+            xs = new float[samples.size()];
+            ys = new float[samples.size()];
+        }
+        int count = 0;
+        for (int i = 0; i < samples.size(); i++) {
+            float x = samples.getX(i);
+            float y = samples.getY(i);
+            if (count == 0 || x != xs[count - 1] || y != ys[count - 1]) {
+                xs[count] = x;
+                ys[count] = y;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void ensureCapacity(int floats) {
+        if (vertices.length < floats) {
+            vertices = new float[Math.max(floats, vertices.length + (vertices.length >> 1))];
+        }
+    }
+}
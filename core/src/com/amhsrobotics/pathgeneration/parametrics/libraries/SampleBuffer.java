@@ -0,0 +1,145 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+/**
+ * A reusable buffer of sampled x and y values along a {@link Path}.
+ * <p>
+ * The values are kept in primitive arrays that only grow, so refilling the buffer every time a spline is regenerated
+ * does not allocate once it has reached its working size.
+ */
+public class SampleBuffer {
+    private float[] x;
+    private float[] y;
+    private int size;
+
+    public SampleBuffer() {
+        this(16);
+    }
+
+    public SampleBuffer(int capacity) {
+        x = new float[Math.max(capacity, 1)];
+        y = new float[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Creates a buffer holding a copy of the samples of <code>source</code>.
+     *
+     * @param source the buffer to copy.
+     */
+    public SampleBuffer(SampleBuffer source) {
+        this(source.size);
+        System.arraycopy(source.x, 0, x, 0, source.size);
+        System.arraycopy(source.y, 0, y, 0, source.size);
+        size = source.size;
+    }
+
+    /**
+     * Makes sure the buffer can hold at least <code>capacity</code> samples without growing, keeping the samples it
+     * already holds.
+     *
+     * @param capacity the amount of samples the buffer should be able to hold.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > x.length) {
+            int newCapacity = Math.max(capacity, x.length + (x.length >> 1));
+            float[] newX = new float[newCapacity];
+            float[] newY = new float[newCapacity];
+            System.arraycopy(x, 0, newX, 0, size);
+            System.arraycopy(y, 0, newY, 0, size);
+            x = newX;
+            y = newY;
+        }
+    }
+
+    /**
+     * Appends a sample to the end of the buffer.
+     *
+     * @param x the x value of the sample
+     * @param y the y value of the sample
+     */
+    public void add(float x, float y) {
+        if (size == this.x.length) {
+            ensureCapacity(size + 1);
+        }
+        this.x[size] = x;
+        this.y[size] = y;
+        size++;
+    }
+
+    /**
+     * Overwrites the sample at <code>index</code>.
+     *
+     * @param index the index of the sample
+     * @param x     the new x value of the sample
+     * @param y     the new y value of the sample
+     */
+    public void set(int index, float x, float y) {
+        this.x[index] = x;
+        this.y[index] = y;
+    }
+
+    /**
+     * Replaces the samples from <code>from</code>, inclusive, to <code>to</code>, exclusive, with all samples of
+     * <code>source</code>, moving the samples after the range as needed.
+     *
+     * @param from   the first index to replace
+     * @param to     the index after the last one to replace
+     * @param source the samples to put in place of the range.
+     */
+    public void replace(int from, int to, SampleBuffer source) {
+        int newSize = size - (to - from) + source.size;
+        ensureCapacity(newSize);
+        System.arraycopy(x, to, x, from + source.size, size - to);
+        System.arraycopy(y, to, y, from + source.size, size - to);
+        System.arraycopy(source.x, 0, x, from, source.size);
+        System.arraycopy(source.y, 0, y, from, source.size);
+        size = newSize;
+    }
+
+    /**
+     * Removes all samples without releasing the backing arrays.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sets the amount of samples held by the buffer, growing it if needed. Used by bulk writers that fill the backing
+     * arrays directly.
+     *
+     * @param size the new amount of samples.
+     */
+    public void setSize(int size) {
+        ensureCapacity(size);
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public float getX(int index) {
+        return x[index];
+    }
+
+    public float getY(int index) {
+        return y[index];
+    }
+
+    /**
+     * Returns the backing array of x values. Only the first {@link #size()} values are valid.
+     *
+     * @return the backing array of x values.
+     */
+    public float[] getXs() {
+        return x;
+    }
+
+    /**
+     * Returns the backing array of y values. Only the first {@link #size()} values are valid.
+     *
+     * @return the backing array of y values.
+     */
+    public float[] getYs() {
+        return y;
+    }
+}
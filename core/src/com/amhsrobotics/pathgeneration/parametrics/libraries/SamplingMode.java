@@ -0,0 +1,26 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+/**
+ * The ways a {@link Path} can evaluate evenly spaced samples.
+ * <p>
+ * The editor draws adaptively flattened samples instead, so this is only used by code sampling a {@link Path} at a
+ * fixed step, such as robot code using this library.
+ */
+public enum SamplingMode {
+    /**
+     * Evaluates every sample directly with Horner's rule.
+     */
+    DIRECT,
+
+    /**
+     * Produces each sample from the previous one with additions only, after one setup per segment. Segments that do
+     * not expose their polynomial coefficients are evaluated directly.
+     */
+    FORWARD_DIFFERENCE,
+
+    /**
+     * Forward differencing that re-anchors on a direct evaluation every
+     * {@link ForwardDifferencer#ANCHOR_INTERVAL} samples so that the accumulated rounding error stays bounded.
+     */
+    ANCHORED_FORWARD_DIFFERENCE
+}
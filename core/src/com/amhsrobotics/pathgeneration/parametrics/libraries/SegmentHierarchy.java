@@ -0,0 +1,382 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.Parametric;
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.WithCoefficients;
+
+/**
+ * A bounding volume hierarchy over the {@link Parametric} segments of a {@link Path}, used to prune segments from
+ * spatial queries.
+ * <p>
+ * Every segment is split into {@link #LEAVES_PER_SEGMENT} equal parameter ranges. For segments that expose their
+ * coefficients through {@link WithCoefficients}, each range is converted to Bézier form, and since a Bézier curve lies
+ * within the convex hull of its control points, the bounding box of the control points is a conservative box of the
+ * range. Other segments are bounded by sampling. The boxes are then grouped into a binary tree by repeatedly splitting
+ * them at the median of their longest axis.
+ */
+public class SegmentHierarchy {
+    public static final int LEAVES_PER_SEGMENT = 4;
+
+    private static final int BOUNDING_SAMPLES = 8;
+    private static final int PAIR_SAMPLES = 8;
+
+    private final Parametric[] parametrics;
+
+    private final int[] leafSegment;
+    private final double[] leafStart;
+    private final double[] leafEnd;
+
+    private final double[] minX;
+    private final double[] minY;
+    private final double[] maxX;
+    private final double[] maxY;
+    private final int[] left;
+    private final int[] right;
+    private final int[] leaf;
+    private int nodeCount;
+    private int root;
+
+    /**
+     * Builds the hierarchy for the given {@link Parametric} segments, in the order they make up the {@link Path}.
+     *
+     * @param parametrics the segments to bound.
+     */
+    public SegmentHierarchy(Parametric[] parametrics) {
+        this.parametrics = parametrics;
+
+        int leafCount = parametrics.length * LEAVES_PER_SEGMENT;
+        leafSegment = new int[leafCount];
+        leafStart = new double[leafCount];
+        leafEnd = new double[leafCount];
+
+        int nodes = Math.max(2 * leafCount - 1, 0);
+        minX = new double[nodes];
+        minY = new double[nodes];
+        maxX = new double[nodes];
+        maxY = new double[nodes];
+        left = new int[nodes];
+        right = new int[nodes];
+        leaf = new int[nodes];
+
+        //The leaves are the first nodes, the branches are appended after them while building
+        double[] bounds = new double[4];
+        double[] scratch = new double[12];
+        for (int i = 0; i < leafCount; i++) {
+            leafSegment[i] = i / LEAVES_PER_SEGMENT;
+            leafStart[i] = (double) (i % LEAVES_PER_SEGMENT) / LEAVES_PER_SEGMENT;
+            leafEnd[i] = (double) (i % LEAVES_PER_SEGMENT + 1) / LEAVES_PER_SEGMENT;
+            computeBounds(parametrics[leafSegment[i]], leafStart[i], leafEnd[i], bounds, scratch);
+            minX[i] = bounds[0];
+            minY[i] = bounds[1];
+            maxX[i] = bounds[2];
+            maxY[i] = bounds[3];
+            left[i] = -1;
+            right[i] = -1;
+            leaf[i] = i;
+        }
+        nodeCount = leafCount;
+
+        if (leafCount > 0) {
+            int[] order = new int[leafCount];
+            for (int i = 0; i < leafCount; i++) {
+                order[i] = i;
+            }
+            root = build(order, 0, leafCount);
+        }
+    }
+
+    /**
+     * Builds the subtree over <code>order[from]</code> to <code>order[to - 1]</code> and returns its node.
+     */
+    private int build(int[] order, int from, int to) {
+        if (to - from == 1) {
+            return order[from];
+        }
+
+        double boxMinX = Double.POSITIVE_INFINITY;
+        double boxMinY = Double.POSITIVE_INFINITY;
+        double boxMaxX = Double.NEGATIVE_INFINITY;
+        double boxMaxY = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            boxMinX = Math.min(boxMinX, minX[order[i]]);
+            boxMinY = Math.min(boxMinY, minY[order[i]]);
+            boxMaxX = Math.max(boxMaxX, maxX[order[i]]);
+            boxMaxY = Math.max(boxMaxY, maxY[order[i]]);
+        }
+
+        //Split at the median center along the longest axis
+        boolean alongX = boxMaxX - boxMinX >= boxMaxY - boxMinY;
+        for (int i = from + 1; i < to; i++) {
+            int current = order[i];
+            double key = getCenter(current, alongX);
+            int j = i - 1;
+            while (j >= from && getCenter(order[j], alongX) > key) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+        int middle = (from + to) >>> 1;
+
+        int node = nodeCount++;
+        minX[node] = boxMinX;
+        minY[node] = boxMinY;
+        maxX[node] = boxMaxX;
+        maxY[node] = boxMaxY;
+        leaf[node] = -1;
+        left[node] = build(order, from, middle);
+        right[node] = build(order, middle, to);
+        return node;
+    }
+
+    private double getCenter(int node, boolean alongX) {
+        return alongX ? minX[node] + maxX[node] : minY[node] + maxY[node];
+    }
+
+    /**
+     * Writes a bounding box of <code>parametric</code> between <code>a</code> and <code>b</code> into
+     * <code>bounds</code> as min x, min y, max x and max y.
+     */
+    private static void computeBounds(Parametric parametric, double a, double b, double[] bounds, double[] scratch) {
+        bounds[0] = Double.POSITIVE_INFINITY;
+        bounds[1] = Double.POSITIVE_INFINITY;
+        bounds[2] = Double.NEGATIVE_INFINITY;
+        bounds[3] = Double.NEGATIVE_INFINITY;
+
+        if (parametric instanceof WithCoefficients) {
+            WithCoefficients polynomial = (WithCoefficients) parametric;
+            includeControlPoints(polynomial.getXCoefficients(), a, b, bounds, 0, scratch);
+            includeControlPoints(polynomial.getYCoefficients(), a, b, bounds, 1, scratch);
+        } else {
+            for (int i = 0; i <= BOUNDING_SAMPLES; i++) {
+                parametric.getPosition(a + (b - a) * i / BOUNDING_SAMPLES, scratch);
+                bounds[0] = Math.min(bounds[0], scratch[0]);
+                bounds[1] = Math.min(bounds[1], scratch[1]);
+                bounds[2] = Math.max(bounds[2], scratch[0]);
+                bounds[3] = Math.max(bounds[3], scratch[1]);
+            }
+        }
+    }
+
+    /**
+     * Grows one axis of <code>bounds</code> to contain the Bézier control points of the polynomial with the given
+     * power-basis coefficients restricted to <code>a</code> to <code>b</code>.
+     */
+    private static void includeControlPoints(double[] coefficients, double a, double b, double[] bounds, int axis,
+                                             double[] scratch) {
+        int degree = coefficients.length - 1;
+        double[] shifted = scratch;
+        System.arraycopy(coefficients, 0, shifted, 0, coefficients.length);
+
+        //Taylor shift to a, then scale so that the polynomial runs from a to b as u goes from 0 to 1
+        for (int k = 0; k < degree; k++) {
+            for (int i = degree - 1; i >= k; i--) {
+                shifted[i] += a * shifted[i + 1];
+            }
+        }
+        double scale = 1;
+        for (int k = 0; k <= degree; k++) {
+            shifted[k] *= scale;
+            scale *= b - a;
+        }
+
+        //The i-th control point is the sum of C(i, j) / C(degree, j) * shifted[j] for j <= i
+        for (int i = 0; i <= degree; i++) {
+            double controlPoint = 0;
+            double ratio = 1;
+            for (int j = 0; j <= i; j++) {
+                controlPoint += ratio * shifted[j];
+                ratio *= (double) (i - j) / (degree - j);
+            }
+            bounds[axis] = Math.min(bounds[axis], controlPoint);
+            bounds[axis + 2] = Math.max(bounds[axis + 2], controlPoint);
+        }
+    }
+
+    private double getDistanceSquared(int node, double x, double y) {
+        double dx = Math.max(Math.max(minX[node] - x, x - maxX[node]), 0);
+        double dy = Math.max(Math.max(minY[node] - y, y - maxY[node]), 0);
+        return dx * dx + dy * dy;
+    }
+
+    private double getDistanceSquared(int node, SegmentHierarchy other, int otherNode) {
+        double dx = Math.max(Math.max(minX[node] - other.maxX[otherNode], other.minX[otherNode] - maxX[node]), 0);
+        double dy = Math.max(Math.max(minY[node] - other.maxY[otherNode], other.minY[otherNode] - maxY[node]), 0);
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Finds the closest <code>t</code> value on the {@link Path} to <code>(x, y)</code>, only projecting onto the
+     * leaves whose boxes could hold a closer point than the best one found so far.
+     *
+     * @param x       the x value of the point
+     * @param y       the y value of the point
+     * @param samples the coarse samples used by the {@link ClosestPointProjector} within each leaf.
+     * @return the closest <code>t</code> value on the {@link Path}, between 0 and 1.
+     */
+    public double getClosestT(double x, double y, int samples) {
+        if (nodeCount == 0) {
+            return 0;
+        }
+
+        double[] scratch = new double[2];
+        int[] stack = new int[nodeCount];
+        int size = 0;
+        stack[size++] = root;
+
+        double bestT = 0;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        while (size > 0) {
+            int node = stack[--size];
+            if (getDistanceSquared(node, x, y) >= bestDistance) {
+                continue;
+            }
+
+            if (leaf[node] != -1) {
+                Parametric parametric = parametrics[leafSegment[node]];
+                double localT = ClosestPointProjector.project(parametric, x, y, leafStart[node], leafEnd[node],
+                        samples, scratch);
+                double distance = ClosestPointProjector.getDistanceSquared(parametric, localT, x, y, scratch);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    bestT = (leafSegment[node] + localT) / parametrics.length;
+                }
+            } else {
+                //Visit the nearer child first, so the farther one is more likely to be pruned
+                boolean leftNearer = getDistanceSquared(left[node], x, y) <= getDistanceSquared(right[node], x, y);
+                stack[size++] = leftNearer ? right[node] : left[node];
+                stack[size++] = leftNearer ? left[node] : right[node];
+            }
+        }
+        return bestT;
+    }
+
+    /**
+     * Returns whether any point of the {@link Path} is within <code>distance</code> of <code>(x, y)</code>.
+     *
+     * @param x        the x value of the point
+     * @param y        the y value of the point
+     * @param distance the distance to test against
+     * @return whether the {@link Path} passes within <code>distance</code> of the point.
+     */
+    public boolean isWithinDistance(double x, double y, double distance) {
+        if (nodeCount == 0) {
+            return false;
+        }
+
+        double limit = distance * distance;
+        double[] scratch = new double[2];
+        int[] stack = new int[nodeCount];
+        int size = 0;
+        stack[size++] = root;
+        while (size > 0) {
+            int node = stack[--size];
+            if (getDistanceSquared(node, x, y) > limit) {
+                continue;
+            }
+
+            if (leaf[node] != -1) {
+                Parametric parametric = parametrics[leafSegment[node]];
+                double localT = ClosestPointProjector.project(parametric, x, y, leafStart[node], leafEnd[node],
+                        ClosestPointProjector.DEFAULT_SAMPLES, scratch);
+                if (ClosestPointProjector.getDistanceSquared(parametric, localT, x, y, scratch) <= limit) {
+                    return true;
+                }
+            } else {
+                stack[size++] = left[node];
+                stack[size++] = right[node];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the smallest distance between the {@link Path} of this hierarchy and the {@link Path} of
+     * <code>other</code>, skipping every pair of boxes that is further apart than the best distance found so far.
+     * <p>
+     * Leaf pairs are measured by projecting {@link #PAIR_SAMPLES} points of each leaf onto the other one, so the result
+     * is exact at those points and an upper bound of the true distance in between.
+     *
+     * @param other the hierarchy of the other {@link Path}
+     * @return the smallest distance between the two {@link Path}s.
+     */
+    public double getMinimumDistance(SegmentHierarchy other) {
+        return Math.sqrt(getMinimumDistanceSquared(other, 0));
+    }
+
+    /**
+     * Returns whether the {@link Path} of this hierarchy comes within <code>distance</code> of the {@link Path} of
+     * <code>other</code>, stopping as soon as a close enough pair of points is found.
+     *
+     * @param other    the hierarchy of the other {@link Path}
+     * @param distance the distance to test against
+     * @return whether the two {@link Path}s come within <code>distance</code> of each other.
+     */
+    public boolean isWithinDistance(SegmentHierarchy other, double distance) {
+        return getMinimumDistanceSquared(other, distance * distance) <= distance * distance;
+    }
+
+    private double getMinimumDistanceSquared(SegmentHierarchy other, double stopDistance) {
+        if (nodeCount == 0 || other.nodeCount == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double[] scratch = new double[2];
+        double[] point = new double[2];
+        int[] stack = new int[2 * (nodeCount + other.nodeCount)];
+        int size = 0;
+        stack[size++] = root;
+        stack[size++] = other.root;
+
+        double bestDistance = Double.POSITIVE_INFINITY;
+        while (size > 0) {
+            int otherNode = stack[--size];
+            int node = stack[--size];
+            if (getDistanceSquared(node, other, otherNode) >= bestDistance) {
+                continue;
+            }
+
+            boolean isLeaf = leaf[node] != -1;
+            boolean otherIsLeaf = other.leaf[otherNode] != -1;
+            if (isLeaf && otherIsLeaf) {
+                bestDistance = Math.min(bestDistance, getLeafDistanceSquared(node, other, otherNode, point, scratch));
+                bestDistance = Math.min(bestDistance,
+                        other.getLeafDistanceSquared(otherNode, this, node, point, scratch));
+                if (bestDistance <= stopDistance) {
+                    return bestDistance;
+                }
+            } else if (otherIsLeaf || (!isLeaf && maxX[node] - minX[node] + maxY[node] - minY[node] >=
+                    other.maxX[otherNode] - other.minX[otherNode] + other.maxY[otherNode] - other.minY[otherNode])) {
+                //Descend into the larger box
+                stack[size++] = left[node];
+                stack[size++] = otherNode;
+                stack[size++] = right[node];
+                stack[size++] = otherNode;
+            } else {
+                stack[size++] = node;
+                stack[size++] = other.left[otherNode];
+                stack[size++] = node;
+                stack[size++] = other.right[otherNode];
+            }
+        }
+        return bestDistance;
+    }
+
+    /**
+     * Projects evenly spaced points of a leaf of this hierarchy onto a leaf of <code>other</code> and returns the
+     * smallest squared distance.
+     */
+    private double getLeafDistanceSquared(int node, SegmentHierarchy other, int otherNode, double[] point,
+                                          double[] scratch) {
+        Parametric parametric = parametrics[leafSegment[node]];
+        Parametric otherParametric = other.parametrics[other.leafSegment[otherNode]];
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i <= PAIR_SAMPLES; i++) {
+            parametric.getPosition(leafStart[node] + (leafEnd[node] - leafStart[node]) * i / PAIR_SAMPLES, point);
+            double otherT = ClosestPointProjector.project(otherParametric, point[0], point[1],
+                    other.leafStart[otherNode], other.leafEnd[otherNode], 4, scratch);
+            best = Math.min(best,
+                    ClosestPointProjector.getDistanceSquared(otherParametric, otherT, point[0], point[1], scratch));
+        }
+        return best;
+    }
+}
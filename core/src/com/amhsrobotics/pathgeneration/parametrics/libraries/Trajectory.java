@@ -0,0 +1,106 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+/**
+ * A {@link Path} timed by a {@link TrajectoryGenerator}: the states of a robot following it, at evenly spaced
+ * distances along it.
+ * <p>
+ * Each state has its time, distance, position, heading, velocity, acceleration and curvature. The acceleration of a
+ * state is the one held until the next state, so it is <code>0</code> at the last one. The states are kept in
+ * primitive arrays and nothing is changed after the trajectory is created, so it can be shared between threads.
+ */
+public class Trajectory {
+    private final double[] time;
+    private final double[] distance;
+    private final double[] x;
+    private final double[] y;
+    private final double[] heading;
+    private final double[] velocity;
+    private final double[] acceleration;
+    private final double[] curvature;
+
+    Trajectory(double[] time, double[] distance, double[] x, double[] y, double[] heading, double[] velocity,
+               double[] acceleration, double[] curvature) {
+        this.time = time;
+        this.distance = distance;
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.velocity = velocity;
+        this.acceleration = acceleration;
+        this.curvature = curvature;
+    }
+
+    /**
+     * Returns the amount of states in this {@link Trajectory}.
+     *
+     * @return the amount of states.
+     */
+    public int size() {
+        return time.length;
+    }
+
+    /**
+     * Returns the time it takes to follow the whole {@link Trajectory}.
+     *
+     * @return the time of the last state.
+     */
+    public double getTotalTime() {
+        return time[time.length - 1];
+    }
+
+    /**
+     * Returns the index of the last state at or before <code>time</code>. Times outside of the {@link Trajectory} are
+     * clamped.
+     *
+     * @param time the time since the start
+     * @return the index of the state.
+     */
+    public int getIndexAtTime(double time) {
+        int low = 0;
+        int high = this.time.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (this.time[middle] <= time) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    public double getTime(int index) {
+        return time[index];
+    }
+
+    public double getDistance(int index) {
+        return distance[index];
+    }
+
+    public double getX(int index) {
+        return x[index];
+    }
+
+    public double getY(int index) {
+        return y[index];
+    }
+
+    /**
+     * Returns the heading of the tangent at a state, in degrees.
+     */
+    public double getHeading(int index) {
+        return heading[index];
+    }
+
+    public double getVelocity(int index) {
+        return velocity[index];
+    }
+
+    public double getAcceleration(int index) {
+        return acceleration[index];
+    }
+
+    public double getCurvature(int index) {
+        return curvature[index];
+    }
+}
@@ -0,0 +1,53 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+/**
+ * The limits a {@link TrajectoryGenerator} keeps a {@link Trajectory} within.
+ * <p>
+ * The limits are in the units of the {@link Path} per second, so a path in field pixels needs its limits converted
+ * with {@link #scale(double)} first. Every limit scales with the same factor, which leaves the times unchanged.
+ */
+public class TrajectoryConstraints {
+    private final double maxVelocity;
+    private final double maxAcceleration;
+    private final double maxCentripetalAcceleration;
+
+    /**
+     * Creates the constraints.
+     *
+     * @param maxVelocity                the maximum velocity along the path
+     * @param maxAcceleration            the maximum acceleration and deceleration along the path
+     * @param maxCentripetalAcceleration the maximum acceleration towards the center of a turn, which limits the
+     *                                   velocity to <code>sqrt(maxCentripetalAcceleration / |curvature|)</code>.
+     */
+    public TrajectoryConstraints(double maxVelocity, double maxAcceleration, double maxCentripetalAcceleration) {
+        if (!(maxVelocity > 0 && maxAcceleration > 0 && maxCentripetalAcceleration > 0)) {
+            throw new IllegalArgumentException("Trajectory constraints must be positive");
+        }
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+        this.maxCentripetalAcceleration = maxCentripetalAcceleration;
+    }
+
+    /**
+     * Returns these constraints converted to units <code>factor</code> times smaller, such as from inches to pixels.
+     *
+     * @param factor the amount of new units in one of the current units.
+     * @return the scaled constraints.
+     */
+    public TrajectoryConstraints scale(double factor) {
+        return new TrajectoryConstraints(maxVelocity * factor, maxAcceleration * factor,
+                maxCentripetalAcceleration * factor);
+    }
+
+    public double getMaxVelocity() {
+        return maxVelocity;
+    }
+
+    public double getMaxAcceleration() {
+        return maxAcceleration;
+    }
+
+    public double getMaxCentripetalAcceleration() {
+        return maxCentripetalAcceleration;
+    }
+}
@@ -0,0 +1,108 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+/**
+ * Times a {@link Path} into the fastest {@link Trajectory} that stays within a set of {@link TrajectoryConstraints},
+ * starting and ending at rest.
+ * <p>
+ * The path is sampled at evenly spaced distances through its {@link ArcLengthTable}, with the positions, headings
+ * and curvatures of all states evaluated in one pass over the segments. Each state is limited to the maximum
+ * velocity and to the velocity at which its curvature reaches the maximum centripetal acceleration. A forward pass
+ * then limits each state to what can be reached by accelerating from the one before, and a backward pass to what
+ * can still be stopped from in time. Between states the acceleration is constant, which gives the time of each step
+ * from its length and the velocities at its ends.
+ * <p>
+ * Generating takes time linear in the amount of states, so long paths can be timed again whenever they change.
+ */
+public class TrajectoryGenerator {
+    private final TrajectoryConstraints constraints;
+    private final double spacing;
+
+    /**
+     * Creates a generator.
+     *
+     * @param constraints the limits of the {@link Trajectory}s
+     * @param spacing     the largest distance between two states, in the units of the {@link Path}. Paths are always
+     *                    split into at least two steps.
+     */
+    public TrajectoryGenerator(TrajectoryConstraints constraints, double spacing) {
+        if (!(spacing > 0)) {
+            throw new IllegalArgumentException("The spacing of a trajectory must be positive");
+        }
+        this.constraints = constraints;
+        this.spacing = spacing;
+    }
+
+    /**
+     * Times <code>path</code>, building its {@link ArcLengthTable} if it has none yet.
+     *
+     * @param path the path to time.
+     * @return the {@link Trajectory} along the path.
+     */
+    public Trajectory generate(Path path) {
+        ArcLengthTable table = path.getArcLengthTable();
+        double length = table.getLength();
+        //A path of a single step would start and end it at rest, which constant acceleration cannot do, so it always
+        //gets a state in the middle to accelerate up to and brake from
+        int intervals = length > 0 ? Math.max((int) Math.ceil(length / spacing), 2) : 0;
+        int count = intervals + 1;
+        double step = intervals > 0 ? length / intervals : 0;
+
+        double[] time = new double[count];
+        double[] distance = new double[count];
+        double[] parameters = new double[count];
+        double[] x = new double[count];
+        double[] y = new double[count];
+        double[] heading = new double[count];
+        double[] velocity = new double[count];
+        double[] acceleration = new double[count];
+        double[] curvature = new double[count];
+
+        //The distances are increasing, so the parameters are sorted and the segments are walked in order
+        for (int k = 0; k < count; k++) {
+            distance[k] = k == intervals ? length : k * step;
+            parameters[k] = table.getTAtDistance(distance[k]);
+        }
+        path.sample(parameters, x, y, heading, curvature);
+
+        double maxAcceleration = constraints.getMaxAcceleration();
+        for (int k = 0; k < count; k++) {
+            velocity[k] = constraints.getMaxVelocity();
+            double absoluteCurvature = Math.abs(curvature[k]);
+            if (absoluteCurvature > 0) {
+                velocity[k] = Math.min(velocity[k],
+                        Math.sqrt(constraints.getMaxCentripetalAcceleration() / absoluteCurvature));
+            }
+        }
+
+        //v^2 = v0^2 + 2 * a * d over each step, accelerating forwards from rest and decelerating backwards to rest
+        double reachable = 2 * maxAcceleration * step;
+        velocity[0] = 0;
+        for (int k = 1; k < count; k++) {
+            velocity[k] = Math.min(velocity[k], Math.sqrt(velocity[k - 1] * velocity[k - 1] + reachable));
+        }
+        velocity[count - 1] = 0;
+        for (int k = count - 2; k >= 0; k--) {
+            velocity[k] = Math.min(velocity[k], Math.sqrt(velocity[k + 1] * velocity[k + 1] + reachable));
+        }
+
+        for (int k = 1; k < count; k++) {
+            double sum = velocity[k - 1] + velocity[k];
+            //Both ends of a step are only at rest when one is a cusp, where the curvature is unbounded, next to another
+            //cusp or an end of the path. Crossing it means accelerating for half of it and braking for the other half,
+            //and the acceleration of the step averages out to 0
+            double dt = sum > 0 ? 2 * step / sum : 2 * Math.sqrt(step / maxAcceleration);
+            time[k] = time[k - 1] + dt;
+            acceleration[k - 1] = (velocity[k] - velocity[k - 1]) / dt;
+        }
+
+        return new Trajectory(time, distance, x, y, heading, velocity, acceleration, curvature);
+    }
+
+    public TrajectoryConstraints getConstraints() {
+        return constraints;
+    }
+
+    public double getSpacing() {
+        return spacing;
+    }
+}
@@ -0,0 +1,64 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.positioning.library.Transform;
+
+/**
+ * Remembers the values of the waypoints a {@link Path} was last generated from, to find which segments are out of date
+ * after the waypoints are edited in place.
+ * <p>
+ * Segment <code>i</code> runs from waypoint <code>i</code> to waypoint <code>i + 1</code>, so it is dirty when either
+ * of those waypoints changed.
+ */
+public class WaypointSnapshot {
+    private double[] values = new double[0];
+    private boolean[] dirtySegments = new boolean[0];
+    private int count = -1;
+
+    /**
+     * Compares <code>waypoints</code> with the last snapshot, marks the segments next to every changed waypoint as
+     * dirty, and stores the new values.
+     *
+     * @param waypoints the current waypoints
+     * @return <code>false</code> if the amount of waypoints changed, in which case every segment has to be regenerated.
+     */
+    public boolean update(Transform[] waypoints) {
+        boolean sameCount = waypoints.length == count;
+        if (!sameCount) {
+            count = waypoints.length;
+            values = new double[count * 3];
+            dirtySegments = new boolean[Math.max(count - 1, 0)];
+        }
+
+        for (int i = 0; i < dirtySegments.length; i++) {
+            dirtySegments[i] = !sameCount;
+        }
+        for (int i = 0; i < count; i++) {
+            double x = waypoints[i].getPosition().getX();
+            double y = waypoints[i].getPosition().getY();
+            double heading = waypoints[i].getRotation().getHeading();
+            int j = i * 3;
+            if (values[j] != x || values[j + 1] != y || values[j + 2] != heading) {
+                values[j] = x;
+                values[j + 1] = y;
+                values[j + 2] = heading;
+                if (i > 0) {
+                    dirtySegments[i - 1] = true;
+                }
+                if (i < dirtySegments.length) {
+                    dirtySegments[i] = true;
+                }
+            }
+        }
+        return sameCount;
+    }
+
+    /**
+     * Returns whether the segment at <code>index</code> changed in the last {@link #update(Transform[])}.
+     *
+     * @param index the index of the segment
+     * @return whether the segment has to be regenerated.
+     */
+    public boolean isSegmentDirty(int index) {
+        return dirtySegments[index];
+    }
+}
@@ -26,15 +26,21 @@ package com.amhsrobotics.pathgeneration.parametrics.splines;
 
 
 import com.amhsrobotics.pathgeneration.parametrics.abstractions.Parametric;
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.WithCoefficients;
 import com.amhsrobotics.pathgeneration.positioning.library.Position;
 import com.amhsrobotics.pathgeneration.positioning.library.Rotation;
 import com.amhsrobotics.pathgeneration.positioning.library.Transform;
 import com.amhsrobotics.pathgeneration.positioning.library.TransformWithVelocity;
 import com.badlogic.gdx.math.Vector2;
 
-public class CubicHermiteSpline extends Parametric {
+public class CubicHermiteSpline extends Parametric implements WithCoefficients {
     private double x0, x1, y0, y1, vx0, vx1, vy0, vy1;
 
+    //Power-basis coefficients of each axis, lowest order first, and the coefficients of their derivatives
+    private final double[] cx = new double[4], cy = new double[4];
+    private final double[] dcx = new double[3], dcy = new double[3];
+    private final double[] ddcx = new double[2], ddcy = new double[2];
+
     /**
      * Constructs a {@link CubicHermiteSpline} given the start and end {@link Transform}s.
      *
@@ -98,6 +104,45 @@ public class CubicHermiteSpline extends Parametric {
         vy0 = Math.sin(heading0) * startMagnitude;
         vx1 = Math.cos(heading1) * endMagnitude;
         vy1 = Math.sin(heading1) * endMagnitude;
+
+        compileCoefficients();
+    }
+
+    /**
+     * Compiles the control values of this {@link CubicHermiteSpline} into power-basis coefficients for each axis, so
+     * that evaluation only needs Horner's rule. This must be called whenever a control value changes.
+     */
+    private void compileCoefficients() {
+        compileAxis(x0, vx0, vx1, x1, cx, dcx, ddcx);
+        compileAxis(y0, vy0, vy1, y1, cy, dcy, ddcy);
+    }
+
+    /**
+     * Compiles the power-basis coefficients of a single axis from its control values, followed by the coefficients of
+     * the first two derivatives.
+     *
+     * @param p0  the start position
+     * @param v0  the start velocity
+     * @param v1  the end velocity
+     * @param p1  the end position
+     * @param c   the position coefficients to fill
+     * @param dc  the first derivative coefficients to fill
+     * @param ddc the second derivative coefficients to fill
+     */
+    private static void compileAxis(double p0, double v0, double v1, double p1, double[] c, double[] dc,
+                                    double[] ddc) {
+        //Expanded form of the cubic hermite basis functions https://rose-hulman.edu/~finn/CCLI/Notes/day09.pdf#page=2
+        c[0] = p0;
+        c[1] = v0;
+        c[2] = -3 * p0 - 2 * v0 - v1 + 3 * p1;
+        c[3] = 2 * p0 + v0 + v1 - 2 * p1;
+
+        for (int i = 0; i < dc.length; i++) {
+            dc[i] = (i + 1) * c[i + 1];
+        }
+        for (int i = 0; i < ddc.length; i++) {
+            ddc[i] = (i + 1) * dc[i + 1];
+        }
     }
 
     /**
@@ -108,14 +153,21 @@ public class CubicHermiteSpline extends Parametric {
      */
     @Override
     public Position getPosition(double t) {
-        //Cubic hermite spline equations https://rose-hulman.edu/~finn/CCLI/Notes/day09.pdf#page=2
-        double h0, h1, h2, h3;
-        h0 = 1 - 3 * t * t + 2 * t * t * t;
-        h1 = t - 2 * t * t + t * t * t;
-        h2 = -t * t + t * t * t;
-        h3 = 3 * t * t - 2 * t * t * t;
+        double x = ((cx[3] * t + cx[2]) * t + cx[1]) * t + cx[0];
+        double y = ((cy[3] * t + cy[2]) * t + cy[1]) * t + cy[0];
+        return new Position(x, y);
+    }
 
-        return computeFromCoefficients(h0, h1, h2, h3);
+    /**
+     * Writes the x and y value of the {@link Position} at <code>t</code> into <code>out</code> without allocating.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value into at index 0 and the y value into at index 1.
+     */
+    @Override
+    public void getPosition(double t, double[] out) {
+        out[0] = ((cx[3] * t + cx[2]) * t + cx[1]) * t + cx[0];
+        out[1] = ((cy[3] * t + cy[2]) * t + cy[1]) * t + cy[0];
     }
 
     /**
@@ -136,6 +188,21 @@ public class CubicHermiteSpline extends Parametric {
         return new Transform(position, rotation);
     }
 
+    /**
+     * Writes the x value, y value and tangent heading in degrees at <code>t</code> into <code>out</code> without
+     * allocating.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value, y value and heading into at index 0, 1 and 2.
+     */
+    @Override
+    public void getTransform(double t, double[] out) {
+        double dx = (dcx[2] * t + dcx[1]) * t + dcx[0];
+        double dy = (dcy[2] * t + dcy[1]) * t + dcy[0];
+        getPosition(t, out);
+        out[2] = Math.toDegrees(Math.atan2(dy, dx));
+    }
+
     /**
      * Returns the curvature at point <code>t</code> on the {@link Parametric}.
      *
@@ -144,12 +211,13 @@ public class CubicHermiteSpline extends Parametric {
      */
     @Override
     public double getCurvature(double t) {
-        Position firstDerivative = getFirstDerivative(t);
-        Position secondDerivative = getSecondDerivative(t);
+        double dx = (dcx[2] * t + dcx[1]) * t + dcx[0];
+        double dy = (dcy[2] * t + dcy[1]) * t + dcy[0];
+        double ddx = ddcx[1] * t + ddcx[0];
+        double ddy = ddcy[1] * t + ddcy[0];
 
-        return (firstDerivative.getX() * secondDerivative.getY() - secondDerivative.getX() * firstDerivative.getY()) /
-                Math.sqrt(Math.pow(firstDerivative.getX() * firstDerivative.getX() +
-                        firstDerivative.getY() * firstDerivative.getY(), 3));
+        double speedSquared = dx * dx + dy * dy;
+        return (dx * ddy - ddx * dy) / Math.sqrt(speedSquared * speedSquared * speedSquared);
     }
 
     /**
@@ -161,14 +229,21 @@ public class CubicHermiteSpline extends Parametric {
      */
     @Override
     public Position getFirstDerivative(double t) {
-        //First derivative of cubic hermite spline functions
-        double h0, h1, h2, h3;
-        h0 = 6 * t * t - 6 * t;
-        h1 = 3 * t * t - 4 * t + 1;
-        h2 = 3 * t * t - 2 * t;
-        h3 = -6 * t * t + 6 * t;
+        double x = (dcx[2] * t + dcx[1]) * t + dcx[0];
+        double y = (dcy[2] * t + dcy[1]) * t + dcy[0];
+        return new Position(x, y);
+    }
 
-        return computeFromCoefficients(h0, h1, h2, h3);
+    /**
+     * Writes the x and y value of the first derivative at <code>t</code> into <code>out</code> without allocating.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value into at index 0 and the y value into at index 1.
+     */
+    @Override
+    public void getFirstDerivative(double t, double[] out) {
+        out[0] = (dcx[2] * t + dcx[1]) * t + dcx[0];
+        out[1] = (dcy[2] * t + dcy[1]) * t + dcy[0];
     }
 
     /**
@@ -180,30 +255,39 @@ public class CubicHermiteSpline extends Parametric {
      */
     @Override
     public Position getSecondDerivative(double t) {
-        //Second derivative of cubic hermite spline functions
-        double h0, h1, h2, h3;
-        h0 = 12 * t - 6;
-        h1 = 6 * t - 4;
-        h2 = 6 * t - 2;
-        h3 = 6 - 12 * t;
+        return new Position(ddcx[1] * t + ddcx[0], ddcy[1] * t + ddcy[0]);
+    }
 
-        return computeFromCoefficients(h0, h1, h2, h3);
+    /**
+     * Writes the x and y value of the second derivative at <code>t</code> into <code>out</code> without allocating.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value into at index 0 and the y value into at index 1.
+     */
+    @Override
+    public void getSecondDerivative(double t, double[] out) {
+        out[0] = ddcx[1] * t + ddcx[0];
+        out[1] = ddcy[1] * t + ddcy[0];
     }
 
     /**
-     * Computes the {@link Position} from the 4 base coefficients.
+     * Returns the power-basis coefficients of the x axis, lowest order first. The returned array must not be modified.
      *
-     * @param h0 base coefficient 1
-     * @param h1 base coefficient 2
-     * @param h2 base coefficient 3
-     * @param h3 base coefficient 4
-     * @return the {@link Position} containing the x and y values computed from the coefficients.
+     * @return the power-basis coefficients of the x axis.
      */
-    private Position computeFromCoefficients(double h0, double h1, double h2, double h3) {
-        double x = h0 * x0 + h1 * vx0 + h2 * vx1 + h3 * x1;
-        double y = h0 * y0 + h1 * vy0 + h2 * vy1 + h3 * y1;
+    @Override
+    public double[] getXCoefficients() {
+        return cx;
+    }
 
-        return new Position(x, y);
+    /**
+     * Returns the power-basis coefficients of the y axis, lowest order first. The returned array must not be modified.
+     *
+     * @return the power-basis coefficients of the y axis.
+     */
+    @Override
+    public double[] getYCoefficients() {
+        return cy;
     }
 
     public Vector2 getStartPosition() {
@@ -213,6 +297,7 @@ public class CubicHermiteSpline extends Parametric {
     public void setStartPosition(float x0, float y0) {
         this.x0 = x0;
         this.y0 = y0;
+        compileCoefficients();
     }
 
     public Vector2 getTargetPosition() {
@@ -222,6 +307,7 @@ public class CubicHermiteSpline extends Parametric {
     public void setTargetPosition(float x1, float y1) {
         this.x1 = x1;
         this.y1 = y1;
+        compileCoefficients();
     }
 
     public Vector2 getDer1Position() {
@@ -231,6 +317,7 @@ public class CubicHermiteSpline extends Parametric {
     public void setDer1Position(float vx0, float vy0) {
         this.vx0 = vx0;
         this.vy0 = vy0;
+        compileCoefficients();
     }
 
     public Vector2 getDer2Position() {
@@ -240,6 +327,7 @@ public class CubicHermiteSpline extends Parametric {
     public void setDer2Position(float vx1, float vy1) {
         this.vx1 = vx1;
         this.vy1 = vy1;
+        compileCoefficients();
     }
 
 }
@@ -25,6 +25,7 @@
 package com.amhsrobotics.pathgeneration.parametrics.splines;
 
 import com.amhsrobotics.pathgeneration.parametrics.abstractions.Parametric;
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.WithCoefficients;
 import com.amhsrobotics.pathgeneration.positioning.library.*;
 import com.badlogic.gdx.math.Vector2;
 
@@ -35,9 +36,15 @@ import com.badlogic.gdx.math.Vector2;
  * <p>
  * Desmos graph of spline: https://www.desmos.com/calculator/g8sls8d7dm
  */
-public class QuinticHermiteSpline extends Parametric {
+public class QuinticHermiteSpline extends Parametric implements WithCoefficients {
     private double x0, x1, y0, y1, vx0, vx1, vy0, vy1, ax0, ax1, ay0, ay1;
 
+    //Power-basis coefficients of each axis, lowest order first, and the coefficients of their derivatives
+    private final double[] cx = new double[6], cy = new double[6];
+    private final double[] dcx = new double[5], dcy = new double[5];
+    private final double[] ddcx = new double[4], ddcy = new double[4];
+    private final double[] dddcx = new double[3], dddcy = new double[3];
+
     /**
      * Constructs a {@link QuinticHermiteSpline} given a start and end {@link Transform}.
      *
@@ -297,6 +304,56 @@ public class QuinticHermiteSpline extends Parametric {
         this.ay0 = ay0;
         this.ax1 = ax1;
         this.ay1 = ay1;
+
+        compileCoefficients();
+    }
+
+    /**
+     * Compiles the control values of this {@link QuinticHermiteSpline} into power-basis coefficients for each axis.
+     * <p>
+     * The hermite basis functions are constant, so blending them with the control values once up front lets every
+     * evaluation use Horner's rule instead of recomputing all six basis polynomials. This must be called whenever a
+     * control value changes.
+     */
+    private void compileCoefficients() {
+        compileAxis(x0, vx0, ax0, ax1, vx1, x1, cx, dcx, ddcx, dddcx);
+        compileAxis(y0, vy0, ay0, ay1, vy1, y1, cy, dcy, ddcy, dddcy);
+    }
+
+    /**
+     * Compiles the power-basis coefficients of a single axis from its control values, followed by the coefficients of
+     * the first three derivatives.
+     *
+     * @param p0   the start position
+     * @param v0   the start velocity
+     * @param a0   the start acceleration
+     * @param a1   the end acceleration
+     * @param v1   the end velocity
+     * @param p1   the end position
+     * @param c    the position coefficients to fill
+     * @param dc   the first derivative coefficients to fill
+     * @param ddc  the second derivative coefficients to fill
+     * @param dddc the third derivative coefficients to fill
+     */
+    private static void compileAxis(double p0, double v0, double a0, double a1, double v1, double p1,
+                                    double[] c, double[] dc, double[] ddc, double[] dddc) {
+        //Expanded form of the quintic hermite basis functions https://rose-hulman.edu/~finn/CCLI/Notes/day09.pdf#page=4
+        c[0] = p0;
+        c[1] = v0;
+        c[2] = 0.5 * a0;
+        c[3] = -10 * p0 - 6 * v0 - 1.5 * a0 + 0.5 * a1 - 4 * v1 + 10 * p1;
+        c[4] = 15 * p0 + 8 * v0 + 1.5 * a0 - a1 + 7 * v1 - 15 * p1;
+        c[5] = -6 * p0 - 3 * v0 - 0.5 * a0 + 0.5 * a1 - 3 * v1 + 6 * p1;
+
+        for (int i = 0; i < dc.length; i++) {
+            dc[i] = (i + 1) * c[i + 1];
+        }
+        for (int i = 0; i < ddc.length; i++) {
+            ddc[i] = (i + 1) * dc[i + 1];
+        }
+        for (int i = 0; i < dddc.length; i++) {
+            dddc[i] = (i + 1) * ddc[i + 1];
+        }
     }
 
     /**
@@ -331,15 +388,21 @@ public class QuinticHermiteSpline extends Parametric {
      */
     @Override
     public Position getPosition(double t) {
-        //Quintic hermite spline equations https://rose-hulman.edu/~finn/CCLI/Notes/day09.pdf#page=4
-        double h0 = -6 * t * t * t * t * t + 15 * t * t * t * t - 10 * t * t * t + 1;
-        double h1 = -3 * t * t * t * t * t + 8 * t * t * t * t - 6 * t * t * t + t;
-        double h2 = -(t * t * t * t * t) / 2 + (3 * t * t * t * t) / 2 - (3 * t * t * t) / 2 + (t * t) / 2;
-        double h3 = (t * t * t * t * t) / 2 - t * t * t * t + (t * t * t) / 2;
-        double h4 = -3 * t * t * t * t * t + 7 * t * t * t * t - 4 * t * t * t;
-        double h5 = 6 * t * t * t * t * t - 15 * t * t * t * t + 10 * t * t * t;
+        double x = ((((cx[5] * t + cx[4]) * t + cx[3]) * t + cx[2]) * t + cx[1]) * t + cx[0];
+        double y = ((((cy[5] * t + cy[4]) * t + cy[3]) * t + cy[2]) * t + cy[1]) * t + cy[0];
+        return new Position(x, y);
+    }
 
-        return computeFromCoefficients(h0, h1, h2, h3, h4, h5);
+    /**
+     * Writes the x and y value of the {@link Position} at <code>t</code> into <code>out</code> without allocating.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value into at index 0 and the y value into at index 1.
+     */
+    @Override
+    public void getPosition(double t, double[] out) {
+        out[0] = ((((cx[5] * t + cx[4]) * t + cx[3]) * t + cx[2]) * t + cx[1]) * t + cx[0];
+        out[1] = ((((cy[5] * t + cy[4]) * t + cy[3]) * t + cy[2]) * t + cy[1]) * t + cy[0];
     }
 
     /**
@@ -360,6 +423,21 @@ public class QuinticHermiteSpline extends Parametric {
         return new Transform(position, rotation);
     }
 
+    /**
+     * Writes the x value, y value and tangent heading in degrees at <code>t</code> into <code>out</code> without
+     * allocating.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value, y value and heading into at index 0, 1 and 2.
+     */
+    @Override
+    public void getTransform(double t, double[] out) {
+        double dx = (((dcx[4] * t + dcx[3]) * t + dcx[2]) * t + dcx[1]) * t + dcx[0];
+        double dy = (((dcy[4] * t + dcy[3]) * t + dcy[2]) * t + dcy[1]) * t + dcy[0];
+        getPosition(t, out);
+        out[2] = Math.toDegrees(Math.atan2(dy, dx));
+    }
+
     /**
      * Returns the curvature at point <code>t</code> on the {@link Parametric}.
      *
@@ -368,12 +446,13 @@ public class QuinticHermiteSpline extends Parametric {
      */
     @Override
     public double getCurvature(double t) {
-        Position firstDerivative = getFirstDerivative(t);
-        Position secondDerivative = getSecondDerivative(t);
+        double dx = (((dcx[4] * t + dcx[3]) * t + dcx[2]) * t + dcx[1]) * t + dcx[0];
+        double dy = (((dcy[4] * t + dcy[3]) * t + dcy[2]) * t + dcy[1]) * t + dcy[0];
+        double ddx = ((ddcx[3] * t + ddcx[2]) * t + ddcx[1]) * t + ddcx[0];
+        double ddy = ((ddcy[3] * t + ddcy[2]) * t + ddcy[1]) * t + ddcy[0];
 
-        return (firstDerivative.getX() * secondDerivative.getY() - secondDerivative.getX() * firstDerivative.getY()) /
-                Math.sqrt(Math.pow(firstDerivative.getX() * firstDerivative.getX() +
-                        firstDerivative.getY() * firstDerivative.getY(), 3));
+        double speedSquared = dx * dx + dy * dy;
+        return (dx * ddy - ddx * dy) / Math.sqrt(speedSquared * speedSquared * speedSquared);
     }
 
     /**
@@ -412,15 +491,21 @@ public class QuinticHermiteSpline extends Parametric {
      */
     @Override
     public Position getFirstDerivative(double t) {
-        //First derivative of quintic hermite spline functions
-        double h0 = -30 * t * t * t * t + 60 * t * t * t - 30 * t * t;
-        double h1 = -15 * t * t * t * t + 32 * t * t * t - 18 * t * t + 1;
-        double h2 = -(5 * t * t * t * t) / 2 + 6 * t * t * t - (9 * t * t) / 2 + t;
-        double h3 = (5 * t * t * t * t) / 2 - (4 * t * t * t) + (3 * t * t) / 2;
-        double h4 = -15 * t * t * t * t + 28 * t * t * t - 12 * t * t;
-        double h5 = 30 * t * t * t * t - 60 * t * t * t + 30 * t * t;
+        double x = (((dcx[4] * t + dcx[3]) * t + dcx[2]) * t + dcx[1]) * t + dcx[0];
+        double y = (((dcy[4] * t + dcy[3]) * t + dcy[2]) * t + dcy[1]) * t + dcy[0];
+        return new Position(x, y);
+    }
 
-        return computeFromCoefficients(h0, h1, h2, h3, h4, h5);
+    /**
+     * Writes the x and y value of the first derivative at <code>t</code> into <code>out</code> without allocating.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value into at index 0 and the y value into at index 1.
+     */
+    @Override
+    public void getFirstDerivative(double t, double[] out) {
+        out[0] = (((dcx[4] * t + dcx[3]) * t + dcx[2]) * t + dcx[1]) * t + dcx[0];
+        out[1] = (((dcy[4] * t + dcy[3]) * t + dcy[2]) * t + dcy[1]) * t + dcy[0];
     }
 
     /**
@@ -432,15 +517,21 @@ public class QuinticHermiteSpline extends Parametric {
      */
     @Override
     public Position getSecondDerivative(double t) {
-        //Second derivative of quintic hermite spline functions
-        double h0 = -120 * t * t * t + 180 * t * t - 60 * t;
-        double h1 = -60 * t * t * t + 96 * t * t - 36 * t;
-        double h2 = -10 * t * t * t + 18 * t * t - 9 * t + 1;
-        double h3 = t * (10 * t * t - 12 * t + 3);
-        double h4 = -60 * t * t * t + 84 * t * t - 24 * t;
-        double h5 = 120 * t * t * t - 180 * t * t + 60 * t;
+        double x = ((ddcx[3] * t + ddcx[2]) * t + ddcx[1]) * t + ddcx[0];
+        double y = ((ddcy[3] * t + ddcy[2]) * t + ddcy[1]) * t + ddcy[0];
+        return new Position(x, y);
+    }
 
-        return computeFromCoefficients(h0, h1, h2, h3, h4, h5);
+    /**
+     * Writes the x and y value of the second derivative at <code>t</code> into <code>out</code> without allocating.
+     *
+     * @param t   the parameter
+     * @param out the array to write the x value into at index 0 and the y value into at index 1.
+     */
+    @Override
+    public void getSecondDerivative(double t, double[] out) {
+        out[0] = ((ddcx[3] * t + ddcx[2]) * t + ddcx[1]) * t + ddcx[0];
+        out[1] = ((ddcy[3] * t + ddcy[2]) * t + ddcy[1]) * t + ddcy[0];
     }
 
     /**
@@ -451,32 +542,29 @@ public class QuinticHermiteSpline extends Parametric {
      * @return the third derivative {@link Position} at the parameter <code>t</code>.
      */
     public Position getThirdDerivative(double t) {
-        //Third derivative of quintic hermite spline functions
-        double h0 = -360 * t * t * t + 360 * t - 60;
-        double h1 = -180 * t * t + 192 * t - 36;
-        double h2 = -30 * t * t + 36 * t - 9;
-        double h3 = 30 * t * t - 24 * t + 3;
-        double h4 = -180 * t * t + 168 * t - 24;
-        double h5 = 360 * t * t - 360 * t + 60;
+        double x = (dddcx[2] * t + dddcx[1]) * t + dddcx[0];
+        double y = (dddcy[2] * t + dddcy[1]) * t + dddcy[0];
+        return new Position(x, y);
+    }
 
-        return computeFromCoefficients(h0, h1, h2, h3, h4, h5);
+    /**
+     * Returns the power-basis coefficients of the x axis, lowest order first. The returned array must not be modified.
+     *
+     * @return the power-basis coefficients of the x axis.
+     */
+    @Override
+    public double[] getXCoefficients() {
+        return cx;
     }
 
     /**
-     * Computes the {@link Position} from the 6 base coefficients.
+     * Returns the power-basis coefficients of the y axis, lowest order first. The returned array must not be modified.
      *
-     * @param h0 base coefficient 1
-     * @param h1 base coefficient 2
-     * @param h2 base coefficient 3
-     * @param h3 base coefficient 4
-     * @param h4 base coefficient 5
-     * @param h5 base coefficient 6
-     * @return the {@link Position} containing the x and y values computed from the coefficients.
+     * @return the power-basis coefficients of the y axis.
      */
-    private Position computeFromCoefficients(double h0, double h1, double h2, double h3, double h4, double h5) {
-        double x = h0 * x0 + h1 * vx0 + h2 * ax0 + h3 * ax1 + h4 * vx1 + h5 * x1;
-        double y = h0 * y0 + h1 * vy0 + h2 * ay0 + h3 * ay1 + h4 * vy1 + h5 * y1;
-        return new Position(x, y);
+    @Override
+    public double[] getYCoefficients() {
+        return cy;
     }
 
     public Vector2 getStartPosition() {
@@ -486,6 +574,7 @@ public class QuinticHermiteSpline extends Parametric {
     public void setStartPosition(float x0, float y0) {
         this.x0 = x0;
         this.y0 = y0;
+        compileCoefficients();
     }
 
     public Vector2 getTargetPosition() {
@@ -495,6 +584,7 @@ public class QuinticHermiteSpline extends Parametric {
     public void setTargetPosition(float x1, float y1) {
         this.x1 = x1;
         this.y1 = y1;
+        compileCoefficients();
     }
 
     public Vector2 getA1Position() {
@@ -504,6 +594,7 @@ public class QuinticHermiteSpline extends Parametric {
     public void setA1Position(float ax0, float ay0) {
         this.ax0 = ax0;
         this.ay0 = ay0;
+        compileCoefficients();
     }
 
     public Vector2 getA2Position() {
@@ -513,6 +604,7 @@ public class QuinticHermiteSpline extends Parametric {
     public void setA2Position(float ax1, float ay1) {
         this.ax1 = ax1;
         this.ay1 = ay1;
+        compileCoefficients();
     }
 
     public Vector2 getV1Position() {
@@ -522,6 +614,7 @@ public class QuinticHermiteSpline extends Parametric {
     public void setV1Position(float vx0, float vy0) {
         this.vx0 = vx0;
         this.vy0 = vy0;
+        compileCoefficients();
     }
 
     public Vector2 getV2Position() {
@@ -531,6 +624,7 @@ public class QuinticHermiteSpline extends Parametric {
     public void setV2Position(float vx1, float vy1) {
         this.vx1 = vx1;
         this.vy1 = vy1;
+        compileCoefficients();
     }
 
 }
\ No newline at end of file
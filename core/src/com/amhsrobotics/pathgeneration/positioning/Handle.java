@@ -1,7 +1,11 @@
 package com.amhsrobotics.pathgeneration.positioning;
 
+import com.amhsrobotics.pathgeneration.assets.Assets;
 import com.amhsrobotics.pathgeneration.Overlay;
 import com.amhsrobotics.pathgeneration.cameramechanics.CameraController;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputDispatcher;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTarget;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputTargetAdapter;
 import com.amhsrobotics.pathgeneration.field.Waypoint;
 import com.amhsrobotics.pathgeneration.parametrics.abstractions.SplineController;
 import com.amhsrobotics.pathgeneration.positioning.library.Position;
@@ -9,11 +13,9 @@ import com.amhsrobotics.pathgeneration.positioning.library.Rotation;
 import com.amhsrobotics.pathgeneration.positioning.library.Transform;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.math.Vector3;
 
 
 public class Handle {
@@ -22,64 +24,96 @@ public class Handle {
     private SplineController superClass;
     private Sprite s;
     public boolean hover = false;
+    private boolean dragging = false;
+
+    private final InputTarget target = new InputTargetAdapter() {
+        @Override
+        public boolean hit(float x, float y) {
+            return Overlay.splineSelected == superClass.getID() && s.getBoundingRectangle().contains(x, y);
+        }
+
+        @Override
+        public void hover(boolean hovered) {
+            hover = hovered;
+        }
+
+        @Override
+        public boolean touchDown(float x, float y, int button) {
+            if(button != Input.Buttons.LEFT || Overlay.isToolActive()) {
+                return false;
+            }
+            dragging = true;
+            return true;
+        }
+
+        @Override
+        public void drag(float x, float y) {
+            if(Gdx.input.isButtonPressed(Input.Buttons.RIGHT)) {
+                Waypoint w = Overlay.waypointManager.getWaypointAt(x, y);
+                if(w != null) {
+                    moveTo(w.getPosition().x, w.getPosition().y);
+                    transform.setPosition(new Position(w.getPosition().x, w.getPosition().y));
+                }
+            } else {
+                moveTo(x, y);
+                transform.setPosition(new Position(x, y));
+            }
+        }
+
+        @Override
+        public void touchUp(float x, float y, int button) {
+            dragging = false;
+        }
+    };
 
     public Handle(Transform t, SplineController splineController) {
 
         this.transform = t;
         this.superClass = splineController;
 
-        this.s = new Sprite(new Texture(Gdx.files.internal("buttons/handle.png")));
+        this.s = new Sprite(Assets.getInstance().acquireTexture(Assets.HANDLE));
 
         s.setCenter((float) t.getPosition().getX(), (float) t.getPosition().getY());
+
+        Overlay.input.register(target, InputDispatcher.Layer.WORLD, InputDispatcher.PRIORITY_HANDLE, s.getBoundingRectangle());
+    }
+
+    private void moveTo(float x, float y) {
+        s.setCenter(x, y);
+        Overlay.input.setBounds(target, s.getBoundingRectangle());
     }
 
     public void render(SpriteBatch batch, CameraController cam) {
-        this.s.draw(batch);
-
-        Vector3 unproj = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        cam.getCamera().unproject(unproj);
-
-        if(this.s.getBoundingRectangle().contains(unproj.x, unproj.y)) {
-            hover = true;
-            if(Gdx.input.isButtonPressed(Input.Buttons.LEFT)) {
-
-                if(Gdx.input.isButtonPressed(Input.Buttons.RIGHT)) {
-                    for(Waypoint w : Overlay.waypointManager.getWaypoints()) {
-                        if(w.getRect().contains(unproj.x, unproj.y)) {
-                            this.s.setCenter(w.getPosition().x, w.getPosition().y);
-                            this.transform.setPosition(new Position(w.getPosition().x, w.getPosition().y));
-                        }
-                    }
-                } else {
-                    this.s.setCenter(unproj.x, unproj.y);
-                    this.transform.setPosition(new Position(unproj.x, unproj.y));
-
-                    if(Gdx.input.isKeyPressed(Input.Keys.Z)) {
-                        if(this.transform.getRotation().getHeading() == 0) {
-                            this.transform.setRotation(new Rotation(360));
-                        }
-                        this.transform.setRotation(new Rotation(this.transform.getRotation().getHeading() - 2));
-                    } else if(Gdx.input.isKeyPressed(Input.Keys.X)) {
-                        if(this.transform.getRotation().getHeading() == 360) {
-                            this.transform.setRotation(new Rotation(0));
-                        }
-                        this.transform.setRotation(new Rotation(this.transform.getRotation().getHeading() + 2));
-                    }
+        // rotating with held keys has no events to follow, so it is applied every frame of the drag
+        if(dragging && !Gdx.input.isButtonPressed(Input.Buttons.RIGHT)) {
+            if(Gdx.input.isKeyPressed(Input.Keys.Z)) {
+                if(this.transform.getRotation().getHeading() == 0) {
+                    this.transform.setRotation(new Rotation(360));
+                }
+                this.transform.setRotation(new Rotation(this.transform.getRotation().getHeading() - 2));
+            } else if(Gdx.input.isKeyPressed(Input.Keys.X)) {
+                if(this.transform.getRotation().getHeading() == 360) {
+                    this.transform.setRotation(new Rotation(0));
                 }
+                this.transform.setRotation(new Rotation(this.transform.getRotation().getHeading() + 2));
             }
-            superClass.generate();
-        } else {
-            hover = false;
         }
+
+        if(cam.isVisible(this.s.getBoundingRectangle())) {
+            this.s.draw(batch);
+        }
+    }
+
+    public boolean isDragging() {
+        return dragging;
     }
 
     public void setAll() {
         this.transform.setPosition(new Position(s.getX() + s.getWidth() / 2, s.getY() + s.getHeight() / 2));
-        superClass.generate();
     }
 
     public void setAllReverse() {
-        s.setCenter((float) transform.getPosition().getX(), (float) transform.getPosition().getY());
+        moveTo((float) transform.getPosition().getX(), (float) transform.getPosition().getY());
     }
 
     public Rectangle getRectangle() {
@@ -89,4 +123,9 @@ public class Handle {
     public void remove() {
         superClass.getHandles().remove(this);
     }
+
+    public void dispose() {
+        Overlay.input.unregister(target);
+        Assets.getInstance().release(Assets.HANDLE);
+    }
 }
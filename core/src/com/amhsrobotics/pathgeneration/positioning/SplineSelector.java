@@ -1,21 +1,37 @@
 package com.amhsrobotics.pathgeneration.positioning;
 
+import com.amhsrobotics.pathgeneration.Overlay;
+import com.amhsrobotics.pathgeneration.assets.Assets;
+import com.amhsrobotics.pathgeneration.cameramechanics.InputDispatcher;
+import com.amhsrobotics.pathgeneration.cameramechanics.SpriteTarget;
 import com.amhsrobotics.pathgeneration.parametrics.abstractions.SplineController;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 
 public class SplineSelector extends Sprite {
 
     private SplineController c;
+    private SpriteTarget target;
 
     public SplineSelector(SplineController spline) {
-        super(new Texture(Gdx.files.internal("buttons/select-spline.png")));
+        super(Assets.getInstance().acquireTexture(Assets.SELECT_SPLINE));
         this.c = spline;
 
         setCenter(c.getCenter().x, c.getCenter().y);
         setSize(48, 48);
+
+        target = new SpriteTarget(this) {
+            @Override
+            protected boolean isActive() {
+                return c.getID() != Overlay.splineSelected;
+            }
+
+            @Override
+            protected void clicked() {
+                Overlay.splineManager.select(c);
+            }
+        };
+        Overlay.input.register(target, InputDispatcher.Layer.WORLD, InputDispatcher.PRIORITY_SELECTOR, target.getBounds());
     }
 
     @Override
@@ -24,9 +40,15 @@ public class SplineSelector extends Sprite {
 
         if(getX() != c.getCenter().x && getY() != c.getCenter().y) {
             setCenter(c.getCenter().x, c.getCenter().y);
+            Overlay.input.setBounds(target, target.getBounds());
         }
     }
 
+    public void dispose() {
+        Overlay.input.unregister(target);
+        Assets.getInstance().release(Assets.SELECT_SPLINE);
+    }
+
     public SplineController getSpline() {
         return c;
     }
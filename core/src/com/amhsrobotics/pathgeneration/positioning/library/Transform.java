@@ -32,6 +32,7 @@ package com.amhsrobotics.pathgeneration.positioning.library;
 public class Transform {
     private Position position;
     private Rotation rotation;
+    private int modificationCount;
 
     public Transform() {
         this(new Position(), new Rotation());
@@ -199,14 +200,23 @@ public class Transform {
     }
 
     public void setPosition(Position position) {
+        if (position.getX() != this.position.getX() || position.getY() != this.position.getY()) {
+            modificationCount++;
+        }
         this.position = position;
     }
 
     public void setX(float x) {
+        if (x != this.position.getX()) {
+            modificationCount++;
+        }
         this.position.setX(x);
     }
 
     public void setY(float y) {
+        if (y != this.position.getY()) {
+            modificationCount++;
+        }
         this.position.setY(y);
     }
 
@@ -215,9 +225,22 @@ public class Transform {
     }
 
     public void setRotation(Rotation rotation) {
+        if (rotation.getHeading() != this.rotation.getHeading()) {
+            modificationCount++;
+        }
         this.rotation = rotation;
     }
 
+    /**
+     * Returns how many times this {@link Transform} has been changed through its setters. Setting a value equal to the
+     * current one does not count as a change.
+     *
+     * @return the amount of changes made to this {@link Transform}.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public String toString() {
         return String.format("new Transform(new %s, new %s)", position.toString(), rotation.toString());
@@ -0,0 +1,186 @@
+package com.amhsrobotics.pathgeneration.field;
+
+import com.amhsrobotics.pathgeneration.assets.Assets;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Cuts the real field image into tiles, with the headless backend providing the native {@link Pixmap} code.
+ */
+public class FieldTilesTest {
+    private static final int TILE_SIZE = 512;
+    private static final FileHandle SOURCE = new FileHandle("assets/" + Assets.FIELD);
+
+    private static HeadlessApplication application;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void startBackend() {
+        application = new HeadlessApplication(new ApplicationAdapter() {
+        });
+    }
+
+    @AfterClass
+    public static void stopBackend() {
+        application.exit();
+    }
+
+    @Test
+    public void cutsEveryLevelIntoTiles() {
+        FileHandle cache = new FileHandle(folder.getRoot());
+        FieldTiles tiles = new FieldTiles(SOURCE, cache);
+        tiles.prepare();
+
+        assertEquals(2541, tiles.getWidth());
+        assertEquals(1321, tiles.getHeight());
+        //2541x1321, 1271x661, 636x331 and 318x166, the last one fitting in a single tile
+        assertEquals(4, tiles.getLevelCount());
+
+        int levelWidth = tiles.getWidth();
+        int levelHeight = tiles.getHeight();
+        for (int level = 0; level < tiles.getLevelCount(); level++) {
+            int columns = (levelWidth + TILE_SIZE - 1) / TILE_SIZE;
+            int rows = (levelHeight + TILE_SIZE - 1) / TILE_SIZE;
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    Pixmap tile = new Pixmap(cache.child(level + "/" + column + "_" + row + ".png"));
+                    assertEquals(Math.min(TILE_SIZE, levelWidth - column * TILE_SIZE), tile.getWidth());
+                    assertEquals(Math.min(TILE_SIZE, levelHeight - row * TILE_SIZE), tile.getHeight());
+                    tile.dispose();
+                }
+            }
+            assertTrue(!cache.child(level + "/" + columns + "_0.png").exists());
+            levelWidth = (levelWidth + 1) / 2;
+            levelHeight = (levelHeight + 1) / 2;
+        }
+    }
+
+    @Test
+    public void keepsFullResolutionPixels() {
+        FileHandle cache = new FileHandle(folder.getRoot());
+        new FieldTiles(SOURCE, cache).prepare();
+
+        Pixmap image = new Pixmap(SOURCE);
+        int[][] points = {{0, 0}, {511, 511}, {512, 512}, {1300, 700}, {2540, 1320}, {2048, 1024}};
+        for (int[] point : points) {
+            int column = point[0] / TILE_SIZE;
+            int row = point[1] / TILE_SIZE;
+            Pixmap tile = new Pixmap(cache.child("0/" + column + "_" + row + ".png"));
+            assertEquals("pixel " + point[0] + ", " + point[1], image.getPixel(point[0], point[1]) | 0xff,
+                    tile.getPixel(point[0] - column * TILE_SIZE, point[1] - row * TILE_SIZE) | 0xff);
+            tile.dispose();
+        }
+        image.dispose();
+    }
+
+    @Test
+    public void downsamplesToTheSameColors() {
+        FileHandle cache = new FileHandle(folder.getRoot());
+        FieldTiles tiles = new FieldTiles(SOURCE, cache);
+        tiles.prepare();
+
+        Pixmap image = new Pixmap(SOURCE);
+        Pixmap smallest = new Pixmap(cache.child((tiles.getLevelCount() - 1) + "/0_0.png"));
+        double[] expected = getAverageColor(image);
+        double[] actual = getAverageColor(smallest);
+        for (int channel = 0; channel < 3; channel++) {
+            assertEquals(expected[channel], actual[channel], 0.02);
+        }
+        image.dispose();
+        smallest.dispose();
+    }
+
+    @Test
+    public void reusesTheCache() {
+        FileHandle cache = new FileHandle(folder.getRoot());
+        new FieldTiles(SOURCE, cache).prepare();
+        FileHandle tile = cache.child("0/0_0.png");
+        tile.writeString("not rebuilt", false);
+
+        FieldTiles tiles = new FieldTiles(SOURCE, cache);
+        tiles.prepare();
+        assertEquals(2541, tiles.getWidth());
+        assertEquals(1321, tiles.getHeight());
+        assertEquals("not rebuilt", tile.readString());
+    }
+
+    @Test
+    public void rebuildsMissingTiles() {
+        FileHandle cache = new FileHandle(folder.getRoot());
+        new FieldTiles(SOURCE, cache).prepare();
+        FileHandle tile = cache.child("1/2_1.png");
+        tile.delete();
+
+        new FieldTiles(SOURCE, cache).prepare();
+        assertTrue(tile.exists());
+    }
+
+    @Test
+    public void rebuildsForReplacedImageOfSameLength() {
+        FileHandle source = new FileHandle(folder.getRoot()).child("field.png");
+        FileHandle cache = new FileHandle(folder.getRoot()).child("cache");
+        writeImage(source, Color.RED);
+        long length = source.length();
+        new FieldTiles(source, cache).prepare();
+
+        writeImage(source, Color.BLUE);
+        assertEquals(length, source.length());
+        new FieldTiles(source, cache).prepare();
+
+        Pixmap tile = new Pixmap(cache.child("0/0_0.png"));
+        assertEquals(Color.rgba8888(Color.BLUE), tile.getPixel(0, 0));
+        tile.dispose();
+    }
+
+    /**
+     * Writes an image of a single color without compression, so images of every color have the same length.
+     */
+    private static void writeImage(FileHandle file, Color color) {
+        Pixmap image = new Pixmap(600, 300, Pixmap.Format.RGBA8888);
+        image.setColor(color);
+        image.fill();
+        PixmapIO.PNG png = new PixmapIO.PNG();
+        png.setCompression(Deflater.NO_COMPRESSION);
+        try {
+            png.write(file, image);
+        } catch (IOException e) {
+            throw new GdxRuntimeException(e);
+        } finally {
+            png.dispose();
+            image.dispose();
+        }
+    }
+
+    private static double[] getAverageColor(Pixmap pixmap) {
+        double[] sum = new double[3];
+        Color color = new Color();
+        for (int y = 0; y < pixmap.getHeight(); y++) {
+            for (int x = 0; x < pixmap.getWidth(); x++) {
+                Color.rgba8888ToColor(color, pixmap.getPixel(x, y));
+                sum[0] += color.r;
+                sum[1] += color.g;
+                sum[2] += color.b;
+            }
+        }
+        int count = pixmap.getWidth() * pixmap.getHeight();
+        return new double[] {sum[0] / count, sum[1] / count, sum[2] / count};
+    }
+}
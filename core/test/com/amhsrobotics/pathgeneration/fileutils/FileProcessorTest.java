@@ -0,0 +1,106 @@
+package com.amhsrobotics.pathgeneration.fileutils;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.files.FileHandle;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Reads hand written JSON projects, which have to be rejected before {@link FileProcessor#load(pgData)} clears the
+ * editor if a spline in them cannot be made.
+ */
+public class FileProcessorTest {
+    private static HeadlessApplication application;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void startBackend() {
+        application = new HeadlessApplication(new ApplicationAdapter() {
+        });
+    }
+
+    @AfterClass
+    public static void stopBackend() {
+        application.exit();
+    }
+
+    @Test
+    public void readsValidSplines() throws IOException {
+        pgData data = new FileProcessor().read(write(spline("\"type\": \"CUBIC_HERMITE\"", 2)));
+
+        assertEquals(1, data.splines.size());
+        assertEquals(SplineData.Type.CUBIC_HERMITE, data.splines.get(0).type);
+        assertEquals(2, data.splines.get(0).points.size());
+    }
+
+    @Test
+    public void rejectsSplineWithOnePoint() {
+        assertRejected(spline("\"type\": \"QUINTIC_HERMITE\"", 1));
+    }
+
+    @Test
+    public void rejectsSplineWithoutPoints() {
+        assertRejected(spline("\"type\": \"QUINTIC_HERMITE\"", 0));
+    }
+
+    @Test
+    public void rejectsSplineWithoutType() {
+        assertRejected(spline("\"color\": -1", 2));
+    }
+
+    @Test
+    public void rejectsSplineWithNullType() {
+        assertRejected(spline("\"type\": null", 2));
+    }
+
+    @Test
+    public void rejectsSplineWithUnknownType() {
+        assertRejected(spline("\"type\": \"BEZIER\"", 2));
+    }
+
+    private void assertRejected(String spline) {
+        String filename;
+        try {
+            filename = write(spline);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        try {
+            new FileProcessor().read(filename);
+            fail("Read a project with a spline that cannot be made");
+        } catch (IOException expected) {
+            //The editor is only cleared by load, which is never reached
+        }
+    }
+
+    /**
+     * Returns a spline with the given field and the given number of points.
+     */
+    private static String spline(String field, int count) {
+        StringBuilder points = new StringBuilder();
+        for (int x = 0; x < count; x++) {
+            if (x > 0) {
+                points.append(", ");
+            }
+            points.append("{ \"x\": ").append(x * 24).append(", \"y\": 0, \"heading\": 0, \"velocity\": 0 }");
+        }
+        return "{ \"ID\": 1, " + field + ", \"points\": [ " + points + " ] }";
+    }
+
+    private String write(String spline) throws IOException {
+        FileHandle file = new FileHandle(folder.newFile("project.json"));
+        file.writeString("{ \"version\": 1, \"zeroX\": 0, \"zeroY\": 0, \"splines\": [ " + spline + " ], \"waypoints\": [] }", false, "UTF-8");
+        return file.file().getAbsolutePath();
+    }
+}
@@ -0,0 +1,112 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.Parametric;
+import com.amhsrobotics.pathgeneration.parametrics.abstractions.WithCoefficients;
+import com.amhsrobotics.pathgeneration.positioning.library.Transform;
+import com.amhsrobotics.pathgeneration.positioning.library.TransformWithVelocity;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares forward differencing against direct evaluation of both spline types.
+ */
+public class ForwardDifferencerTest {
+    //Field pixel coordinates
+    private static final Transform[] WAYPOINTS = {
+            new Transform(1800, 400, 180), new Transform(1500, 250, 150), new Transform(1100, 600, 200),
+            new Transform(700, 300, 180)};
+    private static final int STEPS = 1000000;
+    private static final int SAMPLES = 300000;
+
+    //Re-anchoring keeps the error at the rounding of a single evaluation
+    private static final double ANCHORED_TOLERANCE = 1e-10;
+    //Without re-anchoring the rounding error accumulates over every step of the segment
+    private static final double PLAIN_TOLERANCE = 1e-6;
+    //The samples of a path are floats, which only hold about 1e-4 at these coordinates
+    private static final double SAMPLE_TOLERANCE = 1e-3;
+
+    @Test
+    public void quinticDriftStaysBounded() {
+        assertBoundedDrift(createQuinticPath());
+    }
+
+    @Test
+    public void cubicDriftStaysBounded() {
+        assertBoundedDrift(createCubicPath());
+    }
+
+    @Test
+    public void quinticSamplesMatchDirectEvaluation() {
+        assertSamplesMatch(createQuinticPath());
+    }
+
+    @Test
+    public void cubicSamplesMatchDirectEvaluation() {
+        assertSamplesMatch(createCubicPath());
+    }
+
+    private static Path createQuinticPath() {
+        return new Path(PathGenerator.getInstance().generateQuinticHermiteSplinePath(WAYPOINTS));
+    }
+
+    private static Path createCubicPath() {
+        TransformWithVelocity[] waypoints = new TransformWithVelocity[WAYPOINTS.length];
+        for (int i = 0; i < waypoints.length; i++) {
+            waypoints[i] = new TransformWithVelocity(WAYPOINTS[i]);
+        }
+        return new Path(PathGenerator.getInstance().generateCubicHermiteSplinePath(waypoints));
+    }
+
+    /**
+     * Steps every segment in double precision, where the accumulated error is not hidden by the rounding to floats.
+     */
+    private static void assertBoundedDrift(Path path) {
+        double step = 1.0 / STEPS;
+        double[] point = new double[2];
+        for (Parametric parametric : path.getParametrics()) {
+            WithCoefficients polynomial = (WithCoefficients) parametric;
+            ForwardDifferencer plain = new ForwardDifferencer();
+            ForwardDifferencer anchored = new ForwardDifferencer();
+            plain.begin(polynomial.getXCoefficients(), polynomial.getYCoefficients(), 0, step);
+            anchored.begin(polynomial.getXCoefficients(), polynomial.getYCoefficients(), 0, step);
+
+            double plainError = 0;
+            double anchoredError = 0;
+            for (int k = 1; k <= STEPS; k++) {
+                plain.step();
+                if (k % ForwardDifferencer.ANCHOR_INTERVAL == 0) {
+                    anchored.begin(polynomial.getXCoefficients(), polynomial.getYCoefficients(), k * step, step);
+                } else {
+                    anchored.step();
+                }
+
+                parametric.getPosition(k * step, point);
+                plainError = Math.max(plainError, Math.hypot(plain.getX() - point[0], plain.getY() - point[1]));
+                anchoredError = Math.max(anchoredError,
+                        Math.hypot(anchored.getX() - point[0], anchored.getY() - point[1]));
+            }
+
+            assertTrue("forward differencing drifted " + plainError, plainError <= PLAIN_TOLERANCE);
+            assertTrue("anchored forward differencing drifted " + anchoredError,
+                    anchoredError <= ANCHORED_TOLERANCE);
+            assertTrue("anchoring did not reduce the drift of " + plainError, anchoredError < plainError);
+        }
+    }
+
+    private static void assertSamplesMatch(Path path) {
+        SampleBuffer direct = new SampleBuffer();
+        path.sample(0, 1, SAMPLES, direct, SamplingMode.DIRECT);
+
+        for (SamplingMode mode : new SamplingMode[] {SamplingMode.FORWARD_DIFFERENCE,
+                SamplingMode.ANCHORED_FORWARD_DIFFERENCE}) {
+            SampleBuffer samples = new SampleBuffer();
+            path.sample(0, 1, SAMPLES, samples, mode);
+
+            for (int i = 0; i < SAMPLES; i++) {
+                double error = Math.hypot(samples.getX(i) - direct.getX(i), samples.getY(i) - direct.getY(i));
+                assertTrue(mode + " sample " + i + " is off by " + error, error <= SAMPLE_TOLERANCE);
+            }
+        }
+    }
+}
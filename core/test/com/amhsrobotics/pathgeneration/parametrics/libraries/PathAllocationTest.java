@@ -0,0 +1,72 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.positioning.library.Transform;
+import com.amhsrobotics.pathgeneration.positioning.library.TransformWithVelocity;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that the <code>double[] out</code> overloads of {@link Path} do not allocate per sample once warmed up.
+ */
+public class PathAllocationTest {
+    private static final int SAMPLES = 200000;
+    //Leaves room for the measurement itself, which is far less than one byte per sample
+    private static final long ALLOWED_BYTES = 4096;
+
+    private final double[] out = new double[3];
+    private double sink;
+
+    @Test
+    public void quinticPathSamplesWithoutAllocating() {
+        Path path = new Path(PathGenerator.getInstance().generateQuinticHermiteSplinePath(new Transform[] {
+                new Transform(0, 0, 0), new Transform(100, 50, 45), new Transform(200, 0, -30),
+                new Transform(300, 80, 90)}));
+        assertNoAllocation(path);
+    }
+
+    @Test
+    public void cubicPathSamplesWithoutAllocating() {
+        Path path = new Path(PathGenerator.getInstance().generateCubicHermiteSplinePath(new TransformWithVelocity[] {
+                new TransformWithVelocity(new Transform(0, 0, 0)), new TransformWithVelocity(new Transform(100, 50, 45)),
+                new TransformWithVelocity(new Transform(200, 0, -30))}));
+        assertNoAllocation(path);
+    }
+
+    private void assertNoAllocation(Path path) {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported());
+        bean.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        //Warm up so that the measured loop runs compiled
+        for (int i = 0; i < 5; i++) {
+            sampleAll(path);
+        }
+
+        long before = bean.getThreadAllocatedBytes(thread);
+        sampleAll(path);
+        long allocated = bean.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(allocated + " bytes allocated over " + SAMPLES + " samples", allocated <= ALLOWED_BYTES);
+    }
+
+    private void sampleAll(Path path) {
+        for (int i = 0; i < SAMPLES; i++) {
+            double t = (double) i / (SAMPLES - 1);
+            path.getPosition(t, out);
+            sink += out[0];
+            path.getTransform(t, out);
+            sink += out[2];
+            path.getFirstDerivative(t, out);
+            sink += out[1];
+            path.getSecondDerivative(t, out);
+            sink += out[1];
+            sink += path.getCurvature(t);
+        }
+    }
+}
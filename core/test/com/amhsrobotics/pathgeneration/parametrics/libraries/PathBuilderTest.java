@@ -0,0 +1,41 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.positioning.library.Transform;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PathBuilderTest {
+    private static final int LEVELS = 4;
+
+    @Test
+    public void updatesCoarseLevelsLikeAFullBuild() {
+        Transform[] waypoints = {new Transform(0, 0, 0), new Transform(100, 50, 45), new Transform(200, 0, -30),
+                new Transform(300, 80, 90), new Transform(400, 0, 0)};
+        PathBuilder incremental = createBuilder();
+        incremental.build(waypoints, GenerationQuality.FINAL);
+
+        //Dragging a waypoint previews in between, then the final build brings every level up to date
+        waypoints[2] = new Transform(210, 40, 10);
+        incremental.build(waypoints, GenerationQuality.PREVIEW);
+        waypoints[2] = new Transform(220, 60, 20);
+        incremental.build(waypoints, GenerationQuality.PREVIEW);
+        GeneratedPath updated = incremental.build(waypoints, GenerationQuality.FINAL);
+
+        GeneratedPath expected = createBuilder().build(waypoints, GenerationQuality.FINAL);
+        assertEquals(LEVELS, updated.getLevelCount());
+        for (int level = 0; level < LEVELS; level++) {
+            SampleBuffer actualSamples = updated.getSamples(level);
+            SampleBuffer expectedSamples = expected.getSamples(level);
+            assertEquals("level " + level, expectedSamples.size(), actualSamples.size());
+            for (int i = 0; i < expectedSamples.size(); i++) {
+                assertEquals(expectedSamples.getX(i), actualSamples.getX(i), 0);
+                assertEquals(expectedSamples.getY(i), actualSamples.getY(i), 0);
+            }
+        }
+    }
+
+    private static PathBuilder createBuilder() {
+        return new PathBuilder(new AdaptiveFlattener(1, 6), new AdaptiveFlattener(0.25, 12), LEVELS);
+    }
+}
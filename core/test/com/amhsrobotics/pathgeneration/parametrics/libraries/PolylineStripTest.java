@@ -0,0 +1,78 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.parametrics.ParametricConstants;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PolylineStripTest {
+    private static final float WIDTH = ParametricConstants.LINE_WIDTH * 2;
+    private static final float EPSILON = 1e-4f;
+
+    @Test
+    public void buildsTwoVerticesPerDistinctPoint() {
+        PolylineStrip strip = new PolylineStrip();
+
+        strip.build(samples(0, 0, 10, 0, 10, 0, 20, 5, 30, 0), WIDTH);
+        assertEquals(8, strip.getVertexCount());
+
+        strip.build(samples(3, 3, 3, 3), WIDTH);
+        assertEquals(0, strip.getVertexCount());
+    }
+
+    @Test
+    public void offsetsStraightSegmentByHalfTheWidth() {
+        PolylineStrip strip = new PolylineStrip();
+        strip.build(samples(0, 0, 10, 0, 20, 0), WIDTH);
+        float[] vertices = strip.getVertices();
+
+        for (int i = 0; i < strip.getVertexCount(); i += 2) {
+            assertEquals(ParametricConstants.LINE_WIDTH, vertices[i * 2 + 1], EPSILON);
+            assertEquals(-ParametricConstants.LINE_WIDTH, vertices[i * 2 + 3], EPSILON);
+            assertEquals(vertices[i * 2], vertices[i * 2 + 2], EPSILON);
+        }
+
+        //The ends are pushed out by half the width for square caps
+        assertEquals(-ParametricConstants.LINE_WIDTH, vertices[0], EPSILON);
+        assertEquals(10, vertices[4], EPSILON);
+        assertEquals(20 + ParametricConstants.LINE_WIDTH, vertices[8], EPSILON);
+    }
+
+    @Test
+    public void mitersRightAngle() {
+        PolylineStrip strip = new PolylineStrip();
+        strip.build(samples(0, 0, 10, 0, 10, 10), WIDTH);
+        float[] vertices = strip.getVertices();
+
+        //The corner vertices lie on the diagonal, half the width away from both chords
+        float offset = ParametricConstants.LINE_WIDTH;
+        assertEquals(10 - offset, vertices[4], EPSILON);
+        assertEquals(offset, vertices[5], EPSILON);
+        assertEquals(10 + offset, vertices[6], EPSILON);
+        assertEquals(-offset, vertices[7], EPSILON);
+    }
+
+    @Test
+    public void clampsMiterAtSharpTurn() {
+        PolylineStrip strip = new PolylineStrip();
+        strip.build(samples(0, 0, 10, 0, 0, 0.5f), WIDTH);
+        float[] vertices = strip.getVertices();
+
+        //The unclamped miter of this turn would be about forty times half the width
+        float maxMiter = ParametricConstants.LINE_WIDTH * 4;
+        for (int j = 4; j < 8; j += 2) {
+            float miter = (float) Math.hypot(vertices[j] - 10, vertices[j + 1]);
+            assertTrue("miter " + miter, miter <= maxMiter + EPSILON);
+            assertTrue("miter " + miter, miter >= ParametricConstants.LINE_WIDTH);
+        }
+    }
+
+    private static SampleBuffer samples(float... points) {
+        SampleBuffer buffer = new SampleBuffer();
+        for (int i = 0; i < points.length; i += 2) {
+            buffer.add(points[i], points[i + 1]);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,61 @@
+package com.amhsrobotics.pathgeneration.parametrics.libraries;
+
+import com.amhsrobotics.pathgeneration.positioning.library.Transform;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TrajectoryGeneratorTest {
+    private static final double EPSILON = 1e-6;
+    private static final TrajectoryConstraints CONSTRAINTS = new TrajectoryConstraints(120, 100, 80);
+
+    @Test
+    public void followsTrapezoidOnStraightLine() {
+        Trajectory trajectory = new TrajectoryGenerator(CONSTRAINTS, 1).generate(line(300));
+
+        //1.2s to reach 120 over 72, 156 at full speed taking 1.3s, and 1.2s to stop
+        assertEquals(3.7, trajectory.getTotalTime(), 1e-4);
+        assertEquals(0, trajectory.getVelocity(0), EPSILON);
+        assertEquals(0, trajectory.getVelocity(trajectory.size() - 1), EPSILON);
+        assertEquals(120, trajectory.getVelocity(trajectory.size() / 2), EPSILON);
+    }
+
+    @Test
+    public void acceleratesAndBrakesOnPathShorterThanSpacing() {
+        double length = 0.5;
+        Trajectory trajectory = new TrajectoryGenerator(CONSTRAINTS, 1).generate(line(length));
+
+        //Accelerating over half of the path and braking over the other half
+        assertEquals(3, trajectory.size());
+        assertEquals(2 * Math.sqrt(length / CONSTRAINTS.getMaxAcceleration()), trajectory.getTotalTime(), EPSILON);
+        assertEquals(Math.sqrt(length * CONSTRAINTS.getMaxAcceleration()), trajectory.getVelocity(1), EPSILON);
+        assertEquals(CONSTRAINTS.getMaxAcceleration(), trajectory.getAcceleration(0), EPSILON);
+        assertEquals(-CONSTRAINTS.getMaxAcceleration(), trajectory.getAcceleration(1), EPSILON);
+        assertEquals(0, trajectory.getAcceleration(2), EPSILON);
+    }
+
+    @Test
+    public void staysWithinConstraintsOnCurvedPath() {
+        Path path = new Path(PathGenerator.getInstance().generateQuinticHermiteSplinePath(new Transform[] {
+                new Transform(0, 0, 0), new Transform(100, 80, 90), new Transform(0, 160, 180),
+                new Transform(-60, 60, -45)}));
+        Trajectory trajectory = new TrajectoryGenerator(CONSTRAINTS, 1).generate(path);
+
+        for (int i = 0; i < trajectory.size(); i++) {
+            double velocity = trajectory.getVelocity(i);
+            assertTrue(velocity <= CONSTRAINTS.getMaxVelocity() + EPSILON);
+            assertTrue(velocity * velocity * Math.abs(trajectory.getCurvature(i))
+                    <= CONSTRAINTS.getMaxCentripetalAcceleration() + EPSILON);
+            assertTrue(Math.abs(trajectory.getAcceleration(i)) <= CONSTRAINTS.getMaxAcceleration() + EPSILON);
+            if (i > 0) {
+                assertTrue(trajectory.getTime(i) > trajectory.getTime(i - 1));
+            }
+        }
+    }
+
+    private static Path line(double length) {
+        return new Path(PathGenerator.getInstance().generateQuinticHermiteSplinePath(new Transform[] {
+                new Transform(0, 0, 0), new Transform(length, 0, 0)}));
+    }
+}